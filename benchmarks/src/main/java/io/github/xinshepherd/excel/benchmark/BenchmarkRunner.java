@@ -0,0 +1,26 @@
+package io.github.xinshepherd.excel.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 默认开启 GC profiler，同时输出吞吐量和内存分配速率，其余参数与 JMH 命令行一致，例如：
+ * <pre>
+ * java -jar benchmarks.jar ExportBenchmark -p format=SXSSF -p rows=100000
+ * </pre>
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
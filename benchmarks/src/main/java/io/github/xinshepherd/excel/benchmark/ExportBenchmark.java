@@ -0,0 +1,137 @@
+package io.github.xinshepherd.excel.benchmark;
+
+import io.github.xinshepherd.excel.benchmark.Models.ModelType;
+import io.github.xinshepherd.excel.core.base.CsvExporter;
+import io.github.xinshepherd.excel.core.base.DefaultExporter;
+import io.github.xinshepherd.excel.core.base.ExporterBase;
+import io.github.xinshepherd.excel.core.base.StreamingExporter;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 导出性能: 生成 sheet 并写出整个文件，CSV 作为对照直接写出文本
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ExportBenchmark {
+
+    public enum Format {
+        HSSF, XSSF, SXSSF, CSV
+    }
+
+    @Param({"HSSF", "XSSF", "SXSSF", "CSV"})
+    public Format format;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"NARROW", "WIDE", "TEXT", "NUMERIC", "DATE", "STYLED"})
+    public ModelType model;
+
+    private List<Object> data;
+
+    /**
+     * HSSF 超过 65536 行时会拆分为多个sheet
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = model.generate(rows);
+    }
+
+    /**
+     * @return 写出的字节数
+     */
+    @Benchmark
+    public long appendSheet() throws IOException {
+        return export(format, model.getModelClass(), data, new CountingOutputStream()).getCount();
+    }
+
+    /**
+     * 导出数据并写入 out，导入性能测试也用它生成文件
+     */
+    static <T extends OutputStream> T export(Format format, Class<?> modelClass, List<Object> data, T out)
+            throws IOException {
+        switch (format) {
+            case HSSF:
+                try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+                    appendSheet(new DefaultExporter(workbook), modelClass, data);
+                    workbook.write(out);
+                }
+                break;
+            case XSSF:
+                try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                    appendSheet(new DefaultExporter(workbook), modelClass, data);
+                    workbook.write(out);
+                }
+                break;
+            case CSV:
+                try (CsvExporter exporter = CsvExporter.of(out, StandardCharsets.UTF_8)) {
+                    writeCsv(exporter, modelClass, data);
+                }
+                break;
+            default:
+                try (StreamingExporter exporter = new StreamingExporter()) {
+                    appendSheet(exporter, modelClass, data);
+                    exporter.getWorkbook().write(out);
+                }
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void appendSheet(ExporterBase exporter, Class<T> modelClass, List<?> data) {
+        exporter.appendSheet(modelClass, (List<T>) data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void writeCsv(CsvExporter exporter, Class<T> modelClass, List<?> data) throws IOException {
+        exporter.write(modelClass, (List<T>) data);
+    }
+
+    /**
+     * 只计数不保存的输出流
+     */
+    static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.xinshepherd.excel.benchmark;
+
+import io.github.xinshepherd.excel.core.FieldAccessor;
+import io.github.xinshepherd.excel.core.ModelDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字段读取: 逐个单元格的 {@link Field#get(Object)} 与 {@link FieldAccessor} 对比，1000行 x 10列数值
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldAccessorBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private List<Object> data;
+
+    private Field[] fields;
+
+    private FieldAccessor<Object>[] accessors;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        data = Models.ModelType.NUMERIC.generate(ROWS);
+        ModelDescriptor<Object> descriptor = ModelDescriptor.of((Class<Object>) Models.ModelType.NUMERIC.getModelClass());
+        fields = descriptor.getExcelFields().toArray(new Field[0]);
+        accessors = descriptor.getFieldAccessors().toArray(new FieldAccessor[0]);
+    }
+
+    /**
+     * 修改前的读取方式
+     */
+    @Benchmark
+    public double fieldGet() throws IllegalAccessException {
+        double sum = 0;
+        for (Object item : data) {
+            for (Field field : fields) {
+                sum += ((Number) field.get(item)).doubleValue();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double accessorGet() {
+        double sum = 0;
+        for (Object item : data) {
+            for (FieldAccessor<Object> accessor : accessors) {
+                sum += ((Number) accessor.get(item)).doubleValue();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 导出数值列时的读取方式，基本类型不装箱
+     */
+    @Benchmark
+    public double accessorGetDouble() {
+        double sum = 0;
+        for (Object item : data) {
+            for (FieldAccessor<Object> accessor : accessors) {
+                sum += accessor.isPrimitiveNumber() ? accessor.getDouble(item) : ((Number) accessor.get(item)).doubleValue();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.xinshepherd.excel.benchmark;
+
+import io.github.xinshepherd.excel.benchmark.ExportBenchmark.Format;
+import io.github.xinshepherd.excel.benchmark.Models.ModelType;
+import io.github.xinshepherd.excel.core.base.ImporterBase;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 导入性能: 从内存中的文件解析出全部数据
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ImportBenchmark {
+
+    public enum Source {
+        /** xls */
+        HSSF,
+        /** xlsx，构建 XSSFWorkbook */
+        XSSF,
+        /** xlsx，以事件方式解析 */
+        XSSF_STREAMING
+    }
+
+    @Param({"HSSF", "XSSF", "XSSF_STREAMING"})
+    public Source source;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"NARROW", "WIDE", "TEXT", "NUMERIC", "DATE", "STYLED"})
+    public ModelType model;
+
+    private byte[] file;
+
+    private String filename;
+
+    private int numberOfSheets = 1;
+
+    /**
+     * HSSF 超过 65536 行时导出为多个sheet，解析时逐个登记
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Format format;
+        if (Source.HSSF.equals(source)) {
+            format = Format.HSSF;
+            filename = "benchmark.xls";
+        } else {
+            format = Format.SXSSF;
+            filename = "benchmark.xlsx";
+        }
+        file = ExportBenchmark.export(format, model.getModelClass(), model.generate(rows),
+                new ByteArrayOutputStream()).toByteArray();
+        if (Source.HSSF.equals(source)) {
+            try (HSSFWorkbook workbook = new HSSFWorkbook(new ByteArrayInputStream(file))) {
+                numberOfSheets = workbook.getNumberOfSheets();
+            }
+        }
+    }
+
+    /**
+     * @return 单个sheet时为解析出的列表，多个sheet时为 {@link ImporterBase#resolveSheets()} 的结果
+     */
+    @Benchmark
+    public Object resolve() throws Exception {
+        if (numberOfSheets > 1) {
+            ImporterBase importer = ImporterBase.newInstance(new ByteArrayInputStream(file)).filename(filename);
+            for (int i = 0; i < numberOfSheets; i++) {
+                importer.sheet(i, model.getModelClass());
+            }
+            return importer.resolveSheets();
+        }
+        return ImporterBase.newInstance(new ByteArrayInputStream(file))
+                .filename(filename)
+                .streaming(Source.XSSF_STREAMING.equals(source))
+                .resolve(model.getModelClass());
+    }
+}
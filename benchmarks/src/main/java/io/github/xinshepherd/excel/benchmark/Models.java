@@ -0,0 +1,336 @@
+package io.github.xinshepherd.excel.benchmark;
+
+import io.github.xinshepherd.excel.annotation.Excel;
+import io.github.xinshepherd.excel.annotation.ExcelField;
+import io.github.xinshepherd.excel.core.CellStyleProcessor;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static io.github.xinshepherd.excel.annotation.ExcelField.CellType.DATE;
+import static io.github.xinshepherd.excel.annotation.ExcelField.CellType.NUMERIC;
+
+/**
+ * 性能测试使用的实体类，字段类型都可以导出后再导入
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public final class Models {
+
+    /**
+     * 2020-01-01 00:00:00 UTC
+     */
+    private static final long BASE_TIME = 1577836800000L;
+
+    private Models() {
+    }
+
+    public enum ModelType {
+
+        /** 3列 */
+        NARROW(Narrow.class, Narrow::of),
+        /** 24列，文本、数值、日期混合 */
+        WIDE(Wide.class, Wide::of),
+        /** 10列文本 */
+        TEXT(Text.class, Text::of),
+        /** 10列数值 */
+        NUMERIC(Numeric.class, Numeric::of),
+        /** 8列日期 */
+        DATE(Dates.class, Dates::of),
+        /** 带有 CellStyleProcessor 的列 */
+        STYLED(Styled.class, Styled::of);
+
+        private final Class<?> modelClass;
+
+        private final IntFunction<?> factory;
+
+        ModelType(Class<?> modelClass, IntFunction<?> factory) {
+            this.modelClass = modelClass;
+            this.factory = factory;
+        }
+
+        public Class<?> getModelClass() {
+            return modelClass;
+        }
+
+        public List<Object> generate(int rows) {
+            List<Object> data = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                data.add(factory.apply(i));
+            }
+            return data;
+        }
+    }
+
+    private static Date date(int i) {
+        return new Date(BASE_TIME + (i % 3650) * 86400000L);
+    }
+
+    @Data
+    @Excel("narrow")
+    public static class Narrow {
+        @ExcelField("name")
+        private String name;
+        @ExcelField(value = "age", type = NUMERIC)
+        private int age;
+        @ExcelField("city")
+        private String city;
+
+        static Narrow of(int i) {
+            Narrow model = new Narrow();
+            model.name = "name-" + i;
+            model.age = i % 100;
+            model.city = "city-" + (i % 50);
+            return model;
+        }
+    }
+
+    @Data
+    @Excel("wide")
+    public static class Wide {
+        @ExcelField("s0")
+        private String s0;
+        @ExcelField("s1")
+        private String s1;
+        @ExcelField("s2")
+        private String s2;
+        @ExcelField("s3")
+        private String s3;
+        @ExcelField("s4")
+        private String s4;
+        @ExcelField("s5")
+        private String s5;
+        @ExcelField("s6")
+        private String s6;
+        @ExcelField("s7")
+        private String s7;
+        @ExcelField(value = "d0", type = NUMERIC)
+        private double d0;
+        @ExcelField(value = "d1", type = NUMERIC)
+        private double d1;
+        @ExcelField(value = "d2", type = NUMERIC)
+        private double d2;
+        @ExcelField(value = "d3", type = NUMERIC)
+        private double d3;
+        @ExcelField(value = "i0", type = NUMERIC)
+        private int i0;
+        @ExcelField(value = "i1", type = NUMERIC)
+        private int i1;
+        @ExcelField(value = "i2", type = NUMERIC)
+        private int i2;
+        @ExcelField(value = "i3", type = NUMERIC)
+        private int i3;
+        @ExcelField(value = "l0", type = NUMERIC)
+        private long l0;
+        @ExcelField(value = "l1", type = NUMERIC)
+        private long l1;
+        @ExcelField(value = "l2", type = NUMERIC)
+        private long l2;
+        @ExcelField(value = "l3", type = NUMERIC)
+        private long l3;
+        @ExcelField(value = "t0", type = DATE)
+        private Date t0;
+        @ExcelField(value = "t1", type = DATE)
+        private Date t1;
+        @ExcelField(value = "t2", type = DATE)
+        private Date t2;
+        @ExcelField(value = "t3", type = DATE)
+        private Date t3;
+
+        static Wide of(int i) {
+            Wide model = new Wide();
+            model.s0 = "s0-" + i;
+            model.s1 = "s1-" + (i % 10);
+            model.s2 = "s2-" + (i % 100);
+            model.s3 = "s3-" + (i % 1000);
+            model.s4 = "s4-" + i;
+            model.s5 = "s5-" + (i % 10);
+            model.s6 = "s6-" + (i % 100);
+            model.s7 = "s7-" + (i % 1000);
+            model.d0 = i * 0.5;
+            model.d1 = i * 1.25;
+            model.d2 = i / 3.0;
+            model.d3 = -i * 0.75;
+            model.i0 = i;
+            model.i1 = i % 10;
+            model.i2 = i % 100;
+            model.i3 = -i;
+            model.l0 = i * 1000L;
+            model.l1 = i * 7L;
+            model.l2 = Integer.MAX_VALUE + (long) i;
+            model.l3 = -i * 13L;
+            model.t0 = date(i);
+            model.t1 = date(i + 1);
+            model.t2 = date(i + 7);
+            model.t3 = date(i + 30);
+            return model;
+        }
+    }
+
+    @Data
+    @Excel("text")
+    public static class Text {
+        @ExcelField("c0")
+        private String c0;
+        @ExcelField("c1")
+        private String c1;
+        @ExcelField("c2")
+        private String c2;
+        @ExcelField("c3")
+        private String c3;
+        @ExcelField("c4")
+        private String c4;
+        @ExcelField("c5")
+        private String c5;
+        @ExcelField("c6")
+        private String c6;
+        @ExcelField("c7")
+        private String c7;
+        @ExcelField("c8")
+        private String c8;
+        @ExcelField("c9")
+        private String c9;
+
+        static Text of(int i) {
+            Text model = new Text();
+            model.c0 = "c0-" + i;
+            model.c1 = "c1-" + (i % 10);
+            model.c2 = "c2-" + (i % 100);
+            model.c3 = "c3-" + (i % 1000);
+            model.c4 = "c4-" + i;
+            model.c5 = "c5-" + (i % 10);
+            model.c6 = "c6-" + (i % 100);
+            model.c7 = "c7-" + (i % 1000);
+            model.c8 = "c8-" + i;
+            model.c9 = "c9-" + (i % 7);
+            return model;
+        }
+    }
+
+    @Data
+    @Excel("numeric")
+    public static class Numeric {
+        @ExcelField(value = "d0", type = NUMERIC)
+        private double d0;
+        @ExcelField(value = "d1", type = NUMERIC)
+        private double d1;
+        @ExcelField(value = "d2", type = NUMERIC)
+        private double d2;
+        @ExcelField(value = "d3", type = NUMERIC)
+        private Double d3;
+        @ExcelField(value = "i0", type = NUMERIC)
+        private int i0;
+        @ExcelField(value = "i1", type = NUMERIC)
+        private int i1;
+        @ExcelField(value = "i2", type = NUMERIC)
+        private Integer i2;
+        @ExcelField(value = "l0", type = NUMERIC)
+        private long l0;
+        @ExcelField(value = "l1", type = NUMERIC)
+        private long l1;
+        @ExcelField(value = "l2", type = NUMERIC)
+        private Long l2;
+
+        static Numeric of(int i) {
+            Numeric model = new Numeric();
+            model.d0 = i * 0.5;
+            model.d1 = i / 3.0;
+            model.d2 = -i * 1.25;
+            model.d3 = i * 2.5;
+            model.i0 = i;
+            model.i1 = i % 100;
+            model.i2 = -i;
+            model.l0 = i * 1000L;
+            model.l1 = Integer.MAX_VALUE + (long) i;
+            model.l2 = i * 7L;
+            return model;
+        }
+    }
+
+    @Data
+    @Excel("date")
+    public static class Dates {
+        @ExcelField(value = "t0", type = DATE)
+        private Date t0;
+        @ExcelField(value = "t1", type = DATE)
+        private Date t1;
+        @ExcelField(value = "t2", type = DATE)
+        private Date t2;
+        @ExcelField(value = "t3", type = DATE)
+        private Date t3;
+        @ExcelField(value = "t4", type = DATE)
+        private Date t4;
+        @ExcelField(value = "t5", type = DATE)
+        private Date t5;
+        @ExcelField(value = "t6", type = DATE)
+        private Date t6;
+        @ExcelField(value = "t7", type = DATE)
+        private Date t7;
+
+        static Dates of(int i) {
+            Dates model = new Dates();
+            model.t0 = date(i);
+            model.t1 = date(i + 1);
+            model.t2 = date(i + 2);
+            model.t3 = date(i + 7);
+            model.t4 = date(i + 30);
+            model.t5 = date(i + 90);
+            model.t6 = date(i + 365);
+            model.t7 = date(i * 7);
+            return model;
+        }
+    }
+
+    @Data
+    @Excel("styled")
+    public static class Styled {
+        @ExcelField("name")
+        private String name;
+        @ExcelField(value = "score", type = NUMERIC, customStyle = GradeStyleProcessor.class)
+        private double score;
+        @ExcelField(value = "bonus", type = NUMERIC, customStyle = GradeStyleProcessor.class)
+        private double bonus;
+        @ExcelField(value = "rank", type = NUMERIC)
+        private int rank;
+
+        static Styled of(int i) {
+            Styled model = new Styled();
+            model.name = "name-" + i;
+            model.score = i % 101;
+            model.bonus = (i * 7) % 101;
+            model.rank = i;
+            return model;
+        }
+    }
+
+    /**
+     * 按分数段区分样式，每列最多3种样式
+     */
+    public static class GradeStyleProcessor implements CellStyleProcessor {
+
+        @Override
+        public String getLabel(Object data) {
+            double score = ((Number) data).doubleValue();
+            if (score >= 90) {
+                return "excellent";
+            }
+            return score >= 60 ? "pass" : "fail";
+        }
+
+        @Override
+        public CellStyle customize(CellStyle cellStyle, String label) {
+            IndexedColors color = "excellent".equals(label) ? IndexedColors.LIGHT_GREEN
+                    : "pass".equals(label) ? IndexedColors.LIGHT_YELLOW : IndexedColors.ROSE;
+            cellStyle.setFillForegroundColor(color.getIndex());
+            cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            return cellStyle;
+        }
+    }
+}
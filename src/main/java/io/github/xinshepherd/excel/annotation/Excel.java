@@ -93,4 +93,12 @@ public @interface Excel {
      * @since 1.2.0
      */
     int rowSplit() default 1;
+
+    /**
+     * 设置所有文本列写入 xlsx 时字符串的保存方式，可以被 {@link ExcelField#stringMode()} 覆盖
+     *
+     * @return 字符串保存方式
+     * @since 1.4.1
+     */
+    ExcelField.StringMode stringMode() default ExcelField.StringMode.DEFAULT;
 }
@@ -117,6 +117,35 @@ public @interface ExcelField {
      */
     int position() default -1;
 
+    /**
+     * 数值类型的单元格写入超出 double 精度的数字时的处理方式，
+     * 即绝对值大于 2^53 的整数，或有效数字多于15位的 BigDecimal
+     *
+     * @since 1.4.1
+     * @return 精度处理方式，默认取最接近的 double 值
+     */
+    Precision precision() default Precision.ROUND;
+
+    /**
+     * 文本列写入 xlsx 时字符串的保存方式，xls 总是使用共享字符串表
+     *
+     * @since 1.4.1
+     * @return 字符串保存方式，默认使用 {@link Excel#stringMode()} 的设置
+     */
+    StringMode stringMode() default StringMode.DEFAULT;
+
+    enum Precision {
+        ROUND, // 取最接近的 double 值
+        TEXT, // 以文本写入，保留所有数字
+        STRICT // 抛出异常
+    }
+
+    enum StringMode {
+        DEFAULT, // 使用上一级的设置，都没有设置时 XSSFWorkbook 使用共享字符串表，SXSSFWorkbook 由创建时的参数决定
+        SHARED, // 共享字符串表，重复的字符串只保存一次，但整个表都在内存中，适合取值较少的列
+        INLINE // 内联字符串，直接保存在单元格中，适合编号、备注等很少重复的列
+    }
+
     enum CellType {
         TEXT,
         NUMERIC,
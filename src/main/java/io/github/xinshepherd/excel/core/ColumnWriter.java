@@ -0,0 +1,379 @@
+package io.github.xinshepherd.excel.core;
+
+import io.github.xinshepherd.excel.annotation.ExcelField;
+import io.github.xinshepherd.excel.core.util.DateTimeUtil;
+import io.github.xinshepherd.excel.core.util.NumberUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 单列的写入计划，在写入数据行之前按列编译一次
+ *
+ * 样式、取值方式和值的写入方式都在编译时确定，写入单元格时不再读取注解、拼接样式缓存的 key
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+class ColumnWriter<T> {
+
+    private final int columnIndex;
+
+    private final FieldAccessor<T> fieldAccessor;
+
+    /**
+     * 自定义样式处理器，没有设置时为 null
+     */
+    private final CellStyleProcessor cellStyleProcessor;
+
+    /**
+     * 根据标签创建样式，没有自定义样式时标签为 null
+     */
+    private final Function<String, CellStyle> styleFactory;
+
+    /**
+     * 自定义样式处理器的标签对应的样式，只保留最近使用的 MAX_CACHED_LABELS 个，淘汰的样式仍由样式池按内容复用。
+     * 样式池达到样式数量上限后，新的标签使用这一列不带自定义样式的基础样式
+     */
+    private final Map<String, CellStyle> labelStyles;
+
+    /**
+     * {@link IndexedCellStyleProcessor} 的标签和按序号保存的样式，其他情况为 null
+     */
+    private final IndexedCellStyleProcessor indexedProcessor;
+
+    private final List<String> labels;
+
+    private final CellStyle[] indexedStyles;
+
+    private final ValueWriter valueWriter;
+
+    /**
+     * 数值、日期列的基本数字类型字段直接写入 double
+     */
+    private final boolean primitiveNumber;
+
+    /**
+     * long 字段需要按精度处理方式写入
+     */
+    private final ExcelField.Precision longPrecision;
+
+    private CellStyle cellStyle;
+
+    ColumnWriter(int columnIndex,
+                 FieldAccessor<T> fieldAccessor,
+                 ExcelField excelField,
+                 CellStyleProcessor cellStyleProcessor,
+                 Function<String, CellStyle> styleFactory,
+                 ExcelField.StringMode stringMode) {
+        this.columnIndex = columnIndex;
+        this.fieldAccessor = fieldAccessor;
+        this.cellStyleProcessor = cellStyleProcessor;
+        this.styleFactory = styleFactory;
+        this.labelStyles = Objects.isNull(cellStyleProcessor) ? null : newLabelCache();
+        if (cellStyleProcessor instanceof IndexedCellStyleProcessor) {
+            this.indexedProcessor = (IndexedCellStyleProcessor) cellStyleProcessor;
+            this.labels = new ArrayList<>(indexedProcessor.getLabels());
+            this.indexedStyles = new CellStyle[labels.size()];
+        } else {
+            this.indexedProcessor = null;
+            this.labels = null;
+            this.indexedStyles = null;
+        }
+        Class<?> fieldType = fieldAccessor.getField().getType();
+        if (ExcelField.CellType.DATE.equals(excelField.type()) && String.class.equals(fieldType)) {
+            this.valueWriter = new DateMemo();
+        } else if (ExcelField.CellType.TEXT.equals(excelField.type()) && ExcelField.StringMode.INLINE.equals(stringMode)) {
+            this.valueWriter = (cell, value) -> setInlineString(cell, value.toString());
+        } else {
+            this.valueWriter = valueWriter(excelField, fieldType);
+        }
+        this.primitiveNumber = fieldAccessor.isPrimitiveNumber()
+                && !ExcelField.CellType.TEXT.equals(excelField.type());
+        this.longPrecision = long.class.equals(fieldType)
+                && ExcelField.CellType.NUMERIC.equals(excelField.type())
+                && !ExcelField.Precision.ROUND.equals(excelField.precision())
+                ? excelField.precision()
+                : null;
+    }
+
+    void write(Row row, T item) {
+        Cell cell = row.createCell(columnIndex);
+        if (Objects.isNull(cellStyleProcessor)) {
+            if (Objects.isNull(cellStyle)) {
+                cellStyle = styleFactory.apply(null);
+            }
+            cell.setCellStyle(cellStyle);
+            if (Objects.nonNull(longPrecision)) {
+                setLongValue(cell, fieldAccessor.getLong(item), longPrecision);
+                return;
+            }
+            if (primitiveNumber) {
+                cell.setCellValue(fieldAccessor.getDouble(item));
+                return;
+            }
+            write(cell, fieldAccessor.get(item));
+        } else {
+            Object value = fieldAccessor.get(item);
+            cell.setCellStyle(labelStyle(value));
+            write(cell, value);
+        }
+    }
+
+    private CellStyle labelStyle(Object value) {
+        if (Objects.nonNull(indexedStyles)) {
+            int index = indexedProcessor.getLabelIndex(value);
+            if (index < 0 || index >= indexedStyles.length) {
+                throw new ExcelException(String.format("Label index %d is out of range [0, %d)", index, indexedStyles.length));
+            }
+            CellStyle style = indexedStyles[index];
+            if (Objects.isNull(style)) {
+                style = styleFactory.apply(labels.get(index));
+                indexedStyles[index] = style;
+            }
+            return style;
+        }
+        String label = cellStyleProcessor.getLabel(value);
+        CellStyle style = labelStyles.get(label);
+        if (Objects.isNull(style)) {
+            style = styleFactory.apply(label);
+            labelStyles.put(label, style);
+        }
+        return style;
+    }
+
+    /**
+     * 每列缓存的标签数量上限
+     */
+    private static final int MAX_CACHED_LABELS = 256;
+
+    private static Map<String, CellStyle> newLabelCache() {
+        return new LinkedHashMap<String, CellStyle>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CellStyle> eldest) {
+                return size() > MAX_CACHED_LABELS;
+            }
+        };
+    }
+
+    private void write(Cell cell, Object value) {
+        if (Objects.nonNull(value)) {
+            valueWriter.write(cell, value);
+        } else {
+            cell.setBlank();
+        }
+    }
+
+    /**
+     * 写入非空的值
+     */
+    interface ValueWriter {
+        void write(Cell cell, Object value);
+    }
+
+    private static ValueWriter valueWriter(ExcelField excelField, Class<?> fieldType) {
+        switch (excelField.type()) {
+            case DATE:
+                return ColumnWriter::setDateValue;
+            case TIME:
+                return ColumnWriter::setTimeValue;
+            case NUMERIC:
+                return numericWriter(fieldType, excelField.precision());
+            default: // 默认字符串格式
+                return (cell, value) -> cell.setCellValue(value.toString());
+        }
+    }
+
+    /**
+     * 写入内联字符串，不经过共享字符串表
+     */
+    private static void setInlineString(Cell cell, String value) {
+        if (cell instanceof XSSFCell) {
+            CTCell ctCell = ((XSSFCell) cell).getCTCell();
+            ctCell.setT(STCellType.INLINE_STR);
+            ctCell.setIs(new XSSFRichTextString(value).getCTRst());
+        } else {
+            // SXSSFWorkbook 在写入临时文件时处理，xls 不支持内联字符串
+            cell.setCellValue(value);
+        }
+    }
+
+    /**
+     * 根据字段类型选择数字的写入方式，数字直接转换为 double，除 float 外不经过字符串
+     */
+    private static ValueWriter numericWriter(Class<?> fieldType, ExcelField.Precision precision) {
+        if (Integer.class.equals(fieldType) || int.class.equals(fieldType)
+                || Double.class.equals(fieldType) || double.class.equals(fieldType)
+                || Short.class.equals(fieldType) || short.class.equals(fieldType)
+                || Byte.class.equals(fieldType) || byte.class.equals(fieldType)) {
+            return (cell, value) -> cell.setCellValue(((Number) value).doubleValue());
+        }
+        if (Float.class.equals(fieldType) || float.class.equals(fieldType)) {
+            return (cell, value) -> cell.setCellValue(NumberUtil.toDouble((Float) value));
+        }
+        if (Long.class.equals(fieldType) || long.class.equals(fieldType)) {
+            return (cell, value) -> setLongValue(cell, (Long) value, precision);
+        }
+        if (BigDecimal.class.equals(fieldType)) {
+            return (cell, value) -> setBigDecimalValue(cell, (BigDecimal) value, precision);
+        }
+        if (BigInteger.class.equals(fieldType)) {
+            return (cell, value) -> setBigIntegerValue(cell, (BigInteger) value, precision);
+        }
+        return (cell, value) -> setNumericValue(cell, value, precision);
+    }
+
+    private static void setNumericValue(Cell cell, Object value, ExcelField.Precision precision) {
+        if (value instanceof Long) {
+            setLongValue(cell, (Long) value, precision);
+        } else if (value instanceof BigDecimal) {
+            setBigDecimalValue(cell, (BigDecimal) value, precision);
+        } else if (value instanceof BigInteger) {
+            setBigIntegerValue(cell, (BigInteger) value, precision);
+        } else if (value instanceof Number) {
+            cell.setCellValue(NumberUtil.toDouble((Number) value));
+        } else {
+            cell.setCellValue(Double.valueOf(value.toString()));
+        }
+    }
+
+    /**
+     * double 能精确表示的最大整数
+     */
+    private static final long MAX_SAFE_INTEGER = 1L << 53;
+
+    /**
+     * excel 显示的最大有效数字位数
+     */
+    private static final int MAX_SAFE_PRECISION = 15;
+
+    private static void setLongValue(Cell cell, long value, ExcelField.Precision precision) {
+        if (!ExcelField.Precision.ROUND.equals(precision)
+                && (value > MAX_SAFE_INTEGER || value < -MAX_SAFE_INTEGER)) {
+            setImpreciseValue(cell, value, precision);
+        } else {
+            cell.setCellValue((double) value);
+        }
+    }
+
+    private static void setBigIntegerValue(Cell cell, BigInteger value, ExcelField.Precision precision) {
+        if (!ExcelField.Precision.ROUND.equals(precision) && value.bitLength() > 53) {
+            setImpreciseValue(cell, value, precision);
+        } else {
+            cell.setCellValue(value.doubleValue());
+        }
+    }
+
+    private static void setBigDecimalValue(Cell cell, BigDecimal value, ExcelField.Precision precision) {
+        if (!ExcelField.Precision.ROUND.equals(precision) && value.precision() > MAX_SAFE_PRECISION
+                && value.stripTrailingZeros().precision() > MAX_SAFE_PRECISION) {
+            setImpreciseValue(cell, value, precision);
+        } else {
+            cell.setCellValue(value.doubleValue());
+        }
+    }
+
+    private static void setImpreciseValue(Cell cell, Number value, ExcelField.Precision precision) {
+        switch (precision) {
+            case TEXT:
+                cell.setCellValue(value.toString());
+                break;
+            case STRICT:
+                throw new ExcelException(String.format("%s exceeds the precision of a numeric cell", value));
+            default:
+                cell.setCellValue(value.doubleValue());
+        }
+    }
+
+    private static void setTimeValue(Cell cell, Object fieldValue) {
+        if (fieldValue instanceof Date) {
+            cell.setCellValue((Date) fieldValue);
+        } else if (fieldValue instanceof Number) {
+            cell.setCellValue(NumberUtil.toDouble((Number) fieldValue));
+        } else if (fieldValue instanceof TemporalAccessor) {
+            cell.setCellValue(DateTimeUtil.convertTime((TemporalAccessor) fieldValue));
+        } else if (fieldValue instanceof String) {
+            cell.setCellValue(DateTimeUtil.convertTime((String) fieldValue));
+        }
+    }
+
+    /**
+     * String 类型日期列的解析结果缓存，同一列中重复的日期字符串只解析一次
+     *
+     * 只保留最近使用的 MAX_MEMO_SIZE 个值；前 MEMO_SAMPLE_SIZE 次查询的命中率不到一半时说明值很少重复，之后不再缓存
+     */
+    private static final class DateMemo implements ValueWriter {
+
+        private static final int MAX_MEMO_SIZE = 1024;
+
+        private static final int MEMO_SAMPLE_SIZE = 1024;
+
+        private Map<String, Double> values = new LinkedHashMap<String, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+                return size() > MAX_MEMO_SIZE;
+            }
+        };
+
+        private int lookups;
+
+        private int hits;
+
+        @Override
+        public void write(Cell cell, Object value) {
+            if (Objects.isNull(values)) {
+                setDateValue(cell, value);
+                return;
+            }
+            String str = (String) value;
+            Double excelTime = values.get(str);
+            if (Objects.nonNull(excelTime)) {
+                hits++;
+            } else {
+                excelTime = DateTimeUtil.parseDateTime(str);
+                if (Objects.nonNull(excelTime)) {
+                    values.put(str, excelTime);
+                }
+            }
+            if (++lookups == MEMO_SAMPLE_SIZE && hits * 2 < lookups) {
+                values = null;
+            }
+            if (Objects.nonNull(excelTime)) {
+                cell.setCellValue(excelTime);
+            }
+        }
+    }
+
+    private static void setDateValue(Cell cell, Object fieldValue) {
+        if (fieldValue instanceof Date) {
+            cell.setCellValue((Date) fieldValue);
+        } else if (fieldValue instanceof Number) {
+            cell.setCellValue(NumberUtil.toDouble((Number) fieldValue));
+        } else if (fieldValue instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) fieldValue);
+        } else if (fieldValue instanceof LocalDate) {
+            cell.setCellValue((LocalDate) fieldValue);
+        } else if (fieldValue instanceof String) {
+            Double excelTime = DateTimeUtil.parseDateTime((String) fieldValue);
+            if(Objects.nonNull(excelTime))
+                cell.setCellValue(excelTime);
+        }
+    }
+}
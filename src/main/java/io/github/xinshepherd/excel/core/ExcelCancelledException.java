@@ -0,0 +1,39 @@
+package io.github.xinshepherd.excel.core;
+
+/**
+ * 导入导出被取消或超过了截止时间
+ *
+ * 抛出时已经停止处理剩余的数据行，流式导出的临时文件已经删除，导入时打开的 workbook 已经关闭
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ * @see RowMonitor
+ */
+public class ExcelCancelledException extends ExcelException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean timeout;
+
+    private final long rows;
+
+    public ExcelCancelledException(boolean timeout, long rows) {
+        super(String.format("%s after %d rows.", timeout ? "Deadline exceeded" : "Cancelled", rows));
+        this.timeout = timeout;
+        this.rows = rows;
+    }
+
+    /**
+     * @return 是否因为超过截止时间而中止，否则为主动取消
+     */
+    public boolean isTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @return 中止前已处理的行数
+     */
+    public long getRows() {
+        return rows;
+    }
+}
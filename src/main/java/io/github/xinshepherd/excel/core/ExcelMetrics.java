@@ -0,0 +1,80 @@
+package io.github.xinshepherd.excel.core;
+
+/**
+ * 导出、导入各阶段的耗时和计数，可以转发到自己的监控系统
+ *
+ * 导出时通过 ExporterBase.metrics 设置，导入时通过 ImporterBase.metrics 设置，默认为 {@link #NOOP}。
+ * 每个sheet结束一个阶段回调一次，不会逐个单元格回调；多个sheet并行处理时会在多个线程中同时回调，实现需要是线程安全的
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ * @see InMemoryMetrics
+ */
+public interface ExcelMetrics {
+
+    /**
+     * 忽略所有指标
+     */
+    ExcelMetrics NOOP = new ExcelMetrics() {
+    };
+
+    /**
+     * 一个阶段结束
+     *
+     * @param phase 阶段
+     * @param nanos 耗时，纳秒
+     */
+    default void time(Phase phase, long nanos) {
+    }
+
+    /**
+     * 计数增加
+     *
+     * @param counter 计数项
+     * @param delta   增加的数量
+     */
+    default void count(Counter counter, long delta) {
+    }
+
+    enum Phase {
+        /**
+         * 导入时打开文件，事件方式只包括读取共享字符串表和样式表
+         */
+        WORKBOOK_OPEN,
+        /**
+         * 导出时写入大标题和表头，导入时按标题或位置匹配列
+         */
+        HEADER_MATCH,
+        /**
+         * 导出时写入数据行，导入时把数据行转换为对象。事件方式和 csv 导入包括读取文件的时间，导出包括其中创建样式的时间
+         */
+        ROW_CONVERSION,
+        /**
+         * 样式池创建新样式，复用已有样式时不回调
+         */
+        STYLE_CREATION,
+        /**
+         * 通过 ExporterBase.writeTo 写出 workbook
+         */
+        WRITE
+    }
+
+    enum Counter {
+        /**
+         * 导出或导入的数据行，不包括表头
+         */
+        ROWS,
+        /**
+         * 导出时写入的单元格，导入时写入字段的单元格
+         */
+        CELLS,
+        /**
+         * 样式池创建的样式
+         */
+        STYLES,
+        /**
+         * writeTo 写出的字节数
+         */
+        BYTES
+    }
+}
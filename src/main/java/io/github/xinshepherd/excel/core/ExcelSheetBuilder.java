@@ -2,7 +2,9 @@ package io.github.xinshepherd.excel.core;
 
 import org.apache.poi.ss.usermodel.Workbook;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author Fuxin
@@ -14,22 +16,96 @@ public class ExcelSheetBuilder<T> {
 
     private List<T> data;
 
+    private Iterator<T> dataIterator;
+
     private Workbook workbook;
 
     private String sheetName;
 
+    private int maxRows;
+
+    private StylePool stylePool;
+
+    private RowMonitor monitor;
+
+    private ExcelMetrics metrics = ExcelMetrics.NOOP;
+
     public ExcelSheetBuilder(Class<T> modelClass, List<T> data, Workbook workbook) {
         this.modelClass = modelClass;
         this.data = data;
         this.workbook = workbook;
     }
 
+    /**
+     * @since 1.4.1
+     */
+    public ExcelSheetBuilder(Class<T> modelClass, Iterator<T> dataIterator, Workbook workbook) {
+        this.modelClass = modelClass;
+        this.dataIterator = dataIterator;
+        this.workbook = workbook;
+    }
+
     public ExcelSheetBuilder<T> sheetName(String sheetName) {
         this.sheetName = sheetName;
         return this;
     }
 
+    /**
+     * 每个sheet最多的行数(包括大标题和表头)，超出时写入 "名称 (2)"、"名称 (3)" 等新的sheet。
+     * 不能超过文件格式的上限，小于等于0时使用文件格式的上限
+     *
+     * @since 1.4.1
+     */
+    public ExcelSheetBuilder<T> maxRows(int maxRows) {
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    /**
+     * 与其他sheet共用的样式池，必须属于同一个 workbook
+     *
+     * @since 1.4.1
+     */
+    public ExcelSheetBuilder<T> stylePool(StylePool stylePool) {
+        this.stylePool = stylePool;
+        return this;
+    }
+
+    /**
+     * 进度、截止时间和取消，可以与其他sheet共用
+     *
+     * @since 1.4.1
+     */
+    public ExcelSheetBuilder<T> monitor(RowMonitor monitor) {
+        this.monitor = monitor;
+        return this;
+    }
+
+    /**
+     * 导出的指标，可以与其他sheet共用
+     *
+     * @since 1.4.1
+     */
+    public ExcelSheetBuilder<T> metrics(ExcelMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics not null");
+        return this;
+    }
+
     public ExcelSheetMetadata<T> build() {
-        return new ExcelSheetMetadata<>(modelClass, data, workbook, sheetName);
+        ExcelSheetMetadata<T> metadata = dataIterator != null
+                ? new ExcelSheetMetadata<>(modelClass, dataIterator, workbook, sheetName)
+                : new ExcelSheetMetadata<>(modelClass, data, workbook, sheetName);
+        if (maxRows > 0) {
+            metadata.setMaxRows(Math.min(maxRows, metadata.getMaxRows()));
+        }
+        if (stylePool != null) {
+            if (stylePool.getWorkbook() != workbook) {
+                throw new ExcelException("The style pool belongs to another workbook.");
+            }
+            metadata.setStylePool(stylePool);
+        }
+        metadata.setMonitor(monitor);
+        metadata.setMetrics(metrics);
+        return metadata;
     }
 }
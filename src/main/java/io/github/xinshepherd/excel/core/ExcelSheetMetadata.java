@@ -2,7 +2,6 @@ package io.github.xinshepherd.excel.core;
 
 import io.github.xinshepherd.excel.annotation.Excel;
 import io.github.xinshepherd.excel.annotation.ExcelBigHead;
-import io.github.xinshepherd.excel.annotation.ExcelField;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CreationHelper;
@@ -10,11 +9,10 @@ import org.apache.poi.ss.usermodel.Workbook;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Excel 单个 sheet 的元数据
@@ -31,53 +29,103 @@ public class ExcelSheetMetadata<T> {
     /** sheet注解，设置大标题 */
     private final ExcelBigHead excelBigHead;
 
-    /** 单个sheet的数据 */
+    /** 单个sheet的数据，以迭代器创建时为 null */
     private final List<T> data;
 
+    /** 单个sheet的数据迭代器，只能被遍历一次 */
+    private final Iterator<T> dataIterator;
+
+    /** 实体类的描述信息 */
+    private final ModelDescriptor<T> modelDescriptor;
+
     /** 表头字段 */
     private final List<Field> excelFields;
 
+    /** 表头字段的读取器 */
+    private final List<FieldAccessor<T>> fieldAccessors;
+
     private final Workbook workbook;
 
     private final CreationHelper creationHelper;
 
     /**
-     * 缓存每一列的样式，最多只能创建4000个cellStyle
+     * 缓存每一列的样式，最多只能创建4000个cellStyle，实际的样式由 stylePool 按内容去重
      *
      * @see HSSFWorkbook#createCellStyle()
      **/
     private final Map<String, CellStyle> cellStyleMap;
 
+    /** workbook 级别的样式池，默认只属于当前sheet，由 ExporterBase 创建时整个 workbook 共用 */
+    private StylePool stylePool;
+
+    /** 没有设置时为 null */
+    private RowMonitor monitor;
+
+    private ExcelMetrics metrics = ExcelMetrics.NOOP;
+
     private final String sheetName;
 
+    /** 每个sheet最多的行数(包括大标题和表头)，超出时写入新的sheet，默认为文件格式的上限 */
+    private int maxRows;
+
     public ExcelSheetMetadata(Class<T> clazz, List<T> data, Workbook workbook) {
         this(clazz, data, workbook, null);
     }
 
     public ExcelSheetMetadata(Class<T> clazz, List<T> data, Workbook workbook, String sheetName) {
-        Excel excel = Objects.requireNonNull(clazz).getAnnotation(Excel.class);
+        this(clazz, data, Objects.requireNonNull(data, "Data could not be null.").iterator(), workbook, sheetName);
+    }
+
+    /**
+     * 以迭代器作为数据源，逐行写入后不再持有数据，配合 SXSSFWorkbook 可以在固定内存下导出大量数据
+     *
+     * @since 1.4.1
+     */
+    public ExcelSheetMetadata(Class<T> clazz, Iterator<T> dataIterator, Workbook workbook, String sheetName) {
+        this(clazz, null, dataIterator, workbook, sheetName);
+    }
+
+    private ExcelSheetMetadata(Class<T> clazz, List<T> data, Iterator<T> dataIterator, Workbook workbook, String sheetName) {
+        ModelDescriptor<T> descriptor = ModelDescriptor.of(clazz);
+        Excel excel = descriptor.getExcel();
         if (Objects.isNull(excel))
             throw new ExcelException(String.format("Can not get the @Excel annotation from this class %s", clazz.getName()));
-        Objects.requireNonNull(data, "Data could not be null.");
+        Objects.requireNonNull(dataIterator, "Data could not be null.");
         this.sheetName = Objects.nonNull(sheetName) ? sheetName : excel.value();
-        this.excelBigHead = clazz.getAnnotation(ExcelBigHead.class);
+        this.modelDescriptor = descriptor;
+        this.excelBigHead = descriptor.getExcelBigHead();
         this.clazz = clazz;
         this.data = data;
+        this.dataIterator = dataIterator;
         this.metaExcel = excel;
-        this.excelFields = filterExcelFields(clazz);
+        this.fieldAccessors = descriptor.getFieldAccessors();
+        this.excelFields = descriptor.getExcelFields();
         this.workbook = workbook;
         this.creationHelper = this.workbook.getCreationHelper();
         this.cellStyleMap = new HashMap<>();
+        this.maxRows = workbook.getSpreadsheetVersion().getMaxRows();
+        this.stylePool = new StylePool(workbook);
     }
 
     public Class<T> getClazz() {
         return clazz;
     }
 
+    /**
+     * @return 单个sheet的数据
+     * @throws IllegalStateException 以迭代器创建的sheet不持有数据列表，请使用 {@link #getDataIterator()}
+     */
     public List<T> getData() {
+        if (data == null) {
+            throw new IllegalStateException(String.format("Sheet %s is backed by an iterator, use getDataIterator() instead.", sheetName));
+        }
         return data;
     }
 
+    public Iterator<T> getDataIterator() {
+        return dataIterator;
+    }
+
     public Excel getMetaExcel() {
         return metaExcel;
     }
@@ -106,10 +154,63 @@ public class ExcelSheetMetadata<T> {
         return sheetName;
     }
 
-    private List<Field> filterExcelFields(Class<T> clazz) {
-        return Stream.of(clazz.getDeclaredFields())
-                .peek(field -> field.setAccessible(true))
-                .filter(field -> field.isAnnotationPresent(ExcelField.class))
-                .collect(Collectors.toList());
+    /**
+     * @since 1.4.1
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    void setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public StylePool getStylePool() {
+        return stylePool;
+    }
+
+    void setStylePool(StylePool stylePool) {
+        this.stylePool = stylePool;
+    }
+
+    /**
+     * @return 进度、截止时间和取消，没有设置时为 null
+     * @since 1.4.1
+     */
+    public RowMonitor getMonitor() {
+        return monitor;
+    }
+
+    void setMonitor(RowMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * @return 导出的指标，没有设置时为 {@link ExcelMetrics#NOOP}
+     * @since 1.4.1
+     */
+    public ExcelMetrics getMetrics() {
+        return metrics;
+    }
+
+    void setMetrics(ExcelMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public List<FieldAccessor<T>> getFieldAccessors() {
+        return fieldAccessors;
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public ModelDescriptor<T> getModelDescriptor() {
+        return modelDescriptor;
     }
 }
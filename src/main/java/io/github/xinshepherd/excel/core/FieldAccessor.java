@@ -0,0 +1,313 @@
+package io.github.xinshepherd.excel.core;
+
+import io.github.xinshepherd.excel.core.util.NumberUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 预先编译好的字段读取器，代替导出时逐个单元格的 {@link Field#get(Object)} 反射调用
+ *
+ * 通过字段本身的 {@link MethodHandle} 读取，不会调用 getter，结果与 {@link Field#get(Object)} 一致。
+ * int、long、double、short、byte、float 类型的字段可以通过 {@link #getInt(Object)}、{@link #getLong(Object)}、
+ * {@link #getDouble(Object)} 直接读取，不会装箱；float 按十进制文本转换为 double。
+ * 字段的类型在创建时确定，读取时不再判断。与 {@link Field#get(Object)} 的对比见 benchmarks 的 FieldAccessorBenchmark
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public abstract class FieldAccessor<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Field field;
+
+    FieldAccessor(Field field) {
+        this.field = field;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return 是否可以不装箱直接读取为数字 (int、long、double、short、byte、float 字段)
+     */
+    public boolean isPrimitiveNumber() {
+        return false;
+    }
+
+    public abstract Object get(T target);
+
+    public int getInt(T target) {
+        return ((Number) get(target)).intValue();
+    }
+
+    public long getLong(T target) {
+        return ((Number) get(target)).longValue();
+    }
+
+    public double getDouble(T target) {
+        return NumberUtil.toDouble((Number) get(target));
+    }
+
+    /**
+     * 为字段创建读取器，创建的开销较大，应当按类缓存
+     *
+     * @param field 字段
+     * @param <T>   字段所在的类
+     * @return 读取器
+     */
+    public static <T> FieldAccessor<T> of(Field field) {
+        Objects.requireNonNull(field);
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        try {
+            MethodHandle getter = LOOKUP.unreflectGetter(field);
+            // short、byte、float 按 int、double 读取，get 时再转换回字段的类型
+            if (int.class.equals(type)) {
+                return new IntAccessor<>(field, toIntFunction(getter));
+            }
+            if (short.class.equals(type)) {
+                return new ShortAccessor<>(field, toIntFunction(getter));
+            }
+            if (byte.class.equals(type)) {
+                return new ByteAccessor<>(field, toIntFunction(getter));
+            }
+            if (long.class.equals(type)) {
+                return new LongAccessor<>(field, toLongFunction(getter));
+            }
+            if (double.class.equals(type)) {
+                return new DoubleAccessor<>(field, toDoubleFunction(getter));
+            }
+            if (float.class.equals(type)) {
+                return new FloatAccessor<>(field, toDoubleFunction(getter));
+            }
+            return new ObjectAccessor<>(field, toFunction(getter));
+        } catch (IllegalAccessException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    private static <T> ToIntFunction<T> toIntFunction(MethodHandle getter) {
+        MethodHandle handle = getter.asType(MethodType.methodType(int.class, Object.class));
+        return target -> {
+            try {
+                return (int) handle.invokeExact((Object) target);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    private static <T> ToLongFunction<T> toLongFunction(MethodHandle getter) {
+        MethodHandle handle = getter.asType(MethodType.methodType(long.class, Object.class));
+        return target -> {
+            try {
+                return (long) handle.invokeExact((Object) target);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    private static <T> ToDoubleFunction<T> toDoubleFunction(MethodHandle getter) {
+        MethodHandle handle = getter.asType(MethodType.methodType(double.class, Object.class));
+        return target -> {
+            try {
+                return (double) handle.invokeExact((Object) target);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    private static <T> Function<T, Object> toFunction(MethodHandle getter) {
+        MethodHandle handle = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return target -> {
+            try {
+                return handle.invokeExact((Object) target);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    /**
+     * {@link Error} 原样抛出，其他异常包装为 {@link ExcelException}
+     */
+    private static ExcelException wrap(Throwable e) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new ExcelException(e);
+    }
+
+    private static class ObjectAccessor<T> extends FieldAccessor<T> {
+
+        private final Function<T, Object> function;
+
+        ObjectAccessor(Field field, Function<T, Object> function) {
+            super(field);
+            this.function = function;
+        }
+
+        @Override
+        public Object get(T target) {
+            return function.apply(target);
+        }
+    }
+
+    private static class IntAccessor<T> extends FieldAccessor<T> {
+
+        private final ToIntFunction<T> function;
+
+        IntAccessor(Field field, ToIntFunction<T> function) {
+            super(field);
+            this.function = function;
+        }
+
+        @Override
+        public boolean isPrimitiveNumber() {
+            return true;
+        }
+
+        @Override
+        public Object get(T target) {
+            return function.applyAsInt(target);
+        }
+
+        @Override
+        public int getInt(T target) {
+            return function.applyAsInt(target);
+        }
+
+        @Override
+        public long getLong(T target) {
+            return function.applyAsInt(target);
+        }
+
+        @Override
+        public double getDouble(T target) {
+            return function.applyAsInt(target);
+        }
+    }
+
+    private static class ShortAccessor<T> extends IntAccessor<T> {
+
+        ShortAccessor(Field field, ToIntFunction<T> function) {
+            super(field, function);
+        }
+
+        @Override
+        public Object get(T target) {
+            return (short) getInt(target);
+        }
+    }
+
+    private static class ByteAccessor<T> extends IntAccessor<T> {
+
+        ByteAccessor(Field field, ToIntFunction<T> function) {
+            super(field, function);
+        }
+
+        @Override
+        public Object get(T target) {
+            return (byte) getInt(target);
+        }
+    }
+
+    private static class LongAccessor<T> extends FieldAccessor<T> {
+
+        private final ToLongFunction<T> function;
+
+        LongAccessor(Field field, ToLongFunction<T> function) {
+            super(field);
+            this.function = function;
+        }
+
+        @Override
+        public boolean isPrimitiveNumber() {
+            return true;
+        }
+
+        @Override
+        public Object get(T target) {
+            return function.applyAsLong(target);
+        }
+
+        @Override
+        public int getInt(T target) {
+            return (int) function.applyAsLong(target);
+        }
+
+        @Override
+        public long getLong(T target) {
+            return function.applyAsLong(target);
+        }
+
+        @Override
+        public double getDouble(T target) {
+            return function.applyAsLong(target);
+        }
+    }
+
+    private static class DoubleAccessor<T> extends FieldAccessor<T> {
+
+        private final ToDoubleFunction<T> function;
+
+        DoubleAccessor(Field field, ToDoubleFunction<T> function) {
+            super(field);
+            this.function = function;
+        }
+
+        @Override
+        public boolean isPrimitiveNumber() {
+            return true;
+        }
+
+        @Override
+        public Object get(T target) {
+            return function.applyAsDouble(target);
+        }
+
+        @Override
+        public int getInt(T target) {
+            return (int) function.applyAsDouble(target);
+        }
+
+        @Override
+        public long getLong(T target) {
+            return (long) function.applyAsDouble(target);
+        }
+
+        @Override
+        public double getDouble(T target) {
+            return function.applyAsDouble(target);
+        }
+    }
+
+    private static class FloatAccessor<T> extends DoubleAccessor<T> {
+
+        FloatAccessor(Field field, ToDoubleFunction<T> function) {
+            super(field, function);
+        }
+
+        @Override
+        public Object get(T target) {
+            return (float) super.getDouble(target);
+        }
+
+        @Override
+        public double getDouble(T target) {
+            return NumberUtil.toDouble((float) super.getDouble(target));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.xinshepherd.excel.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 在内存中累计的指标，适合测试或临时排查，可以在多个线程中同时使用
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public final class InMemoryMetrics implements ExcelMetrics {
+
+    private final LongAdder[] nanos = adders(Phase.values().length);
+
+    private final LongAdder[] times = adders(Phase.values().length);
+
+    private final LongAdder[] counts = adders(Counter.values().length);
+
+    @Override
+    public void time(Phase phase, long nanos) {
+        this.nanos[phase.ordinal()].add(nanos);
+        this.times[phase.ordinal()].increment();
+    }
+
+    @Override
+    public void count(Counter counter, long delta) {
+        counts[counter.ordinal()].add(delta);
+    }
+
+    /**
+     * @return 阶段的累计耗时，纳秒
+     */
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * @return 阶段结束的次数
+     */
+    public long getTimes(Phase phase) {
+        return times[phase.ordinal()].sum();
+    }
+
+    public long getCount(Counter counter) {
+        return counts[counter.ordinal()].sum();
+    }
+
+    /**
+     * @return 按 {@link Phase#ROW_CONVERSION} 的累计耗时计算的每秒行数，没有耗时时为0
+     */
+    public double getRowsPerSecond() {
+        long elapsed = getNanos(Phase.ROW_CONVERSION);
+        return elapsed == 0 ? 0.0 : getCount(Counter.ROWS) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    public void reset() {
+        for (LongAdder adder : nanos) {
+            adder.reset();
+        }
+        for (LongAdder adder : times) {
+            adder.reset();
+        }
+        for (LongAdder adder : counts) {
+            adder.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("InMemoryMetrics{");
+        for (Phase phase : Phase.values()) {
+            builder.append(phase).append('=').append(TimeUnit.NANOSECONDS.toMillis(getNanos(phase))).append("ms, ");
+        }
+        for (Counter counter : Counter.values()) {
+            builder.append(counter).append('=').append(getCount(counter)).append(", ");
+        }
+        return builder.append("rowsPerSecond=").append(Math.round(getRowsPerSecond())).append('}').toString();
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.xinshepherd.excel.core;
+
+import java.util.List;
+
+/**
+ * 标签数量固定的样式处理器，按标签序号区分样式
+ *
+ * 写入时只调用 {@link #getLabelIndex(Object)}，样式按序号保存在数组中，不需要为每个单元格创建标签字符串或查找 Map。
+ * 标签可以是枚举，例如 {@code getLabelIndex} 返回 {@code Grade.of(data).ordinal()}
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public interface IndexedCellStyleProcessor extends CellStyleProcessor {
+
+    /**
+     * @return 所有标签，只在编译写入计划时读取一次，{@link #customize} 收到的就是其中的标签
+     */
+    List<String> getLabels();
+
+    /**
+     * @param data 单元格数据
+     * @return 标签在 {@link #getLabels()} 中的序号
+     */
+    int getLabelIndex(Object data);
+
+    @Override
+    default String getLabel(Object data) {
+        return getLabels().get(getLabelIndex(data));
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.xinshepherd.excel.core;
+
+import io.github.xinshepherd.excel.annotation.Excel;
+import io.github.xinshepherd.excel.annotation.ExcelBigHead;
+import io.github.xinshepherd.excel.annotation.ExcelField;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 实体类的描述信息，包括类上的注解、带有 {@link ExcelField} 注解的字段及其读取器
+ *
+ * 导出和导入共用，每个类只解析一次。描述信息通过 {@link ClassValue} 挂在类上，
+ * 不会阻止实体类及其类加载器被回收，多线程下可以安全使用
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public final class ModelDescriptor<T> {
+
+    private static final ClassValue<ModelDescriptor<?>> REGISTRY = new ClassValue<ModelDescriptor<?>>() {
+        @Override
+        protected ModelDescriptor<?> computeValue(Class<?> type) {
+            return new ModelDescriptor<>(type);
+        }
+    };
+
+    private final Class<T> modelClass;
+
+    /** 类上的 {@link Excel} 注解，可能为 null */
+    private final Excel excel;
+
+    /** 类上的 {@link ExcelBigHead} 注解，可能为 null */
+    private final ExcelBigHead excelBigHead;
+
+    /** 带有 {@link ExcelField} 注解的字段，按声明顺序 */
+    private final List<Field> excelFields;
+
+    /** 与 excelFields 一一对应的注解 */
+    private final List<ExcelField> excelFieldAnnotations;
+
+    /** 与 excelFields 一一对应的读取器 */
+    private final List<FieldAccessor<T>> fieldAccessors;
+
+    private ModelDescriptor(Class<T> modelClass) {
+        this.modelClass = modelClass;
+        this.excel = modelClass.getAnnotation(Excel.class);
+        this.excelBigHead = modelClass.getAnnotation(ExcelBigHead.class);
+        List<Field> fields = new ArrayList<>();
+        List<ExcelField> annotations = new ArrayList<>();
+        List<FieldAccessor<T>> accessors = new ArrayList<>();
+        for (Field field : modelClass.getDeclaredFields()) {
+            ExcelField excelField = field.getAnnotation(ExcelField.class);
+            if (Objects.nonNull(excelField)) {
+                fields.add(field);
+                annotations.add(excelField);
+                accessors.add(FieldAccessor.of(field));
+            }
+        }
+        this.excelFields = Collections.unmodifiableList(fields);
+        this.excelFieldAnnotations = Collections.unmodifiableList(annotations);
+        this.fieldAccessors = Collections.unmodifiableList(accessors);
+    }
+
+    /**
+     * 获取类的描述信息，第一次获取时解析
+     *
+     * @param modelClass 实体类
+     * @param <T>        实体类型
+     * @return 描述信息
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ModelDescriptor<T> of(Class<T> modelClass) {
+        return (ModelDescriptor<T>) REGISTRY.get(Objects.requireNonNull(modelClass));
+    }
+
+    /**
+     * 预先解析实体类，避免第一次导出或导入时的反射开销，可以在服务启动时调用
+     *
+     * @param modelClasses 带有 {@link Excel} 注解的实体类
+     */
+    public static void warmUp(Class<?>... modelClasses) {
+        for (Class<?> modelClass : modelClasses) {
+            ModelDescriptor<?> descriptor = of(modelClass);
+            if (Objects.isNull(descriptor.getExcel())) {
+                throw new ExcelException(String.format("Can not get the @Excel annotation from this class %s", modelClass.getName()));
+            }
+        }
+    }
+
+    public Class<T> getModelClass() {
+        return modelClass;
+    }
+
+    public Excel getExcel() {
+        return excel;
+    }
+
+    public ExcelBigHead getExcelBigHead() {
+        return excelBigHead;
+    }
+
+    public List<Field> getExcelFields() {
+        return excelFields;
+    }
+
+    public List<ExcelField> getExcelFieldAnnotations() {
+        return excelFieldAnnotations;
+    }
+
+    public List<FieldAccessor<T>> getFieldAccessors() {
+        return fieldAccessors;
+    }
+}
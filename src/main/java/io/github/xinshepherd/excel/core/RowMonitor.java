@@ -0,0 +1,105 @@
+package io.github.xinshepherd.excel.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * 导入导出的进度、截止时间和取消
+ *
+ * 设置到 ExporterBase.monitor 或 ImporterBase.monitor 后，每处理一行数据调用一次 {@link #row()}，
+ * 每 interval 行回调一次进度；调用 {@link #cancel()} 或超过截止时间后，在处理下一行时抛出 {@link ExcelCancelledException}。
+ * 多个sheet共用一个实例，行数合并计算，可以在任意线程中取消。一个实例只用于一次导入或导出
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public final class RowMonitor {
+
+    /**
+     * 每隔多少行检查一次截止时间，避免每行都读取系统时间
+     */
+    private static final int DEADLINE_CHECK_MASK = 0xFF;
+
+    private final AtomicLong rows = new AtomicLong();
+
+    private volatile boolean cancelled;
+
+    private long deadline;
+
+    private boolean hasDeadline;
+
+    private long interval = Long.MAX_VALUE;
+
+    private LongConsumer listener;
+
+    /**
+     * @param interval 每处理多少行回调一次
+     * @param listener 进度回调，参数为已处理的行数，在处理数据的线程中调用，不应阻塞
+     */
+    public RowMonitor progress(long interval, LongConsumer listener) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.interval = interval;
+        this.listener = Objects.requireNonNull(listener, "listener not null");
+        return this;
+    }
+
+    /**
+     * @param timeout 从现在开始的最长耗时
+     */
+    public RowMonitor deadline(Duration timeout) {
+        this.deadline = System.nanoTime() + timeout.toNanos();
+        this.hasDeadline = true;
+        return this;
+    }
+
+    /**
+     * 取消，正在处理的行完成后中止
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return 已处理的行数
+     */
+    public long getRows() {
+        return rows.get();
+    }
+
+    /**
+     * 完成一行，需要时回调进度，已取消或超时时抛出异常
+     *
+     * @throws ExcelCancelledException 已取消或超过截止时间
+     */
+    public void row() {
+        long count = rows.incrementAndGet();
+        if (count % interval == 0) {
+            listener.accept(count);
+        }
+        if (cancelled || (hasDeadline && (count & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - deadline > 0)) {
+            check();
+        }
+    }
+
+    /**
+     * 开始处理前检查
+     *
+     * @throws ExcelCancelledException 已取消或超过截止时间
+     */
+    public void check() {
+        if (cancelled) {
+            throw new ExcelCancelledException(false, rows.get());
+        }
+        if (hasDeadline && System.nanoTime() - deadline > 0) {
+            throw new ExcelCancelledException(true, rows.get());
+        }
+    }
+}
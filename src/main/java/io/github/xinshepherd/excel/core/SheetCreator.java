@@ -3,17 +3,13 @@ package io.github.xinshepherd.excel.core;
 import io.github.xinshepherd.excel.annotation.Excel;
 import io.github.xinshepherd.excel.annotation.ExcelBigHead;
 import io.github.xinshepherd.excel.annotation.ExcelField;
-import io.github.xinshepherd.excel.core.util.DateTimeUtil;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
 
 import java.lang.reflect.Field;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * @author Fuxin
@@ -33,23 +29,82 @@ public class SheetCreator<T> {
         // 创建Sheet页
         Sheet sheet = metadata.getWorkbook().createSheet(metadata.getSheetName());
         AtomicInteger rowNumber = new AtomicInteger(0);
-        handleBigHead(sheet, rowNumber);
-        handleHeader(sheet, rowNumber);
+        handleHeaders(sheet, rowNumber);
         handleRows(sheet, rowNumber);
         return sheet;
     }
 
+    /**
+     * 只创建sheet页、大标题和表头，返回写入数据行的任务
+     *
+     * 不同sheet的数据行任务可以在不同线程中同时执行，前提是 workbook 为不使用共享字符串表的 SXSSFWorkbook，
+     * 且自定义样式处理器的 getLabel 是线程安全的
+     *
+     * @return 写入数据行的任务
+     * @since 1.4.1
+     */
+    public Runnable prepareSheet() {
+        // 创建Sheet页
+        Sheet sheet = metadata.getWorkbook().createSheet(metadata.getSheetName());
+        AtomicInteger rowNumber = new AtomicInteger(0);
+        handleHeaders(sheet, rowNumber);
+        return () -> handleRows(sheet, rowNumber);
+    }
+
+    /**
+     * 只创建sheet页、大标题和表头，返回逐行写入数据的函数，适合数据逐条到达、无法提供迭代器的场景。
+     * 写满时同样会拆分为多个sheet
+     *
+     * @return 写入一行数据，不能在多个线程中同时调用
+     * @since 1.4.1
+     */
+    public Consumer<T> openSheet() {
+        Sheet sheet;
+        AtomicInteger rowNumber = new AtomicInteger(0);
+        synchronized (metadata.getWorkbook()) {
+            sheet = metadata.getWorkbook().createSheet(metadata.getSheetName());
+            handleHeaders(sheet, rowNumber);
+        }
+        RowAppender appender = new RowAppender(sheet, rowNumber);
+        ExcelMetrics metrics = metadata.getMetrics();
+        return item -> {
+            try {
+                long start = System.nanoTime();
+                appender.accept(item);
+                metrics.time(ExcelMetrics.Phase.ROW_CONVERSION, System.nanoTime() - start);
+                metrics.count(ExcelMetrics.Counter.ROWS, 1);
+                metrics.count(ExcelMetrics.Counter.CELLS, appender.columnWriters.size());
+            } catch (ExcelException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new ExcelException(e);
+            }
+        };
+    }
+
+    /**
+     * 写入大标题和表头，记录 {@link ExcelMetrics.Phase#HEADER_MATCH} 的耗时
+     */
+    private void handleHeaders(Sheet sheet, AtomicInteger rowNumber) {
+        long start = System.nanoTime();
+        handleBigHead(sheet, rowNumber);
+        handleHeader(sheet, rowNumber);
+        metadata.getMetrics().time(ExcelMetrics.Phase.HEADER_MATCH, System.nanoTime() - start);
+    }
+
     protected  void handleBigHead(Sheet sheet, AtomicInteger rowNumber) {
         ExcelBigHead bigHead = metadata.getExcelBigHead();
         if (Objects.nonNull(bigHead)) {
             // 处理样式
             Class<? extends FontStyle> fontStyleClazz = bigHead.fontStyle();
-            Workbook workbook = metadata.getWorkbook();
-            Font font = createFont(workbook, context.getFontStyle(fontStyleClazz));
-            CellStyle cellStyle = getMediumCellStyle(workbook);
-            cellStyle.setFont(font);
-            cellStyle.setAlignment(bigHead.horizontalAlignment());
-            cellStyle.setVerticalAlignment(bigHead.verticalAlignment());
+            Font font = metadata.getStylePool().getFont(context.getFontStyle(fontStyleClazz));
+            CellStyle cellStyle = metadata.getStylePool().getStyle(style -> {
+                setMediumBorder(style);
+                style.setFont(font);
+                style.setAlignment(bigHead.horizontalAlignment());
+                style.setVerticalAlignment(bigHead.verticalAlignment());
+                return style;
+            }, metadata.getMetrics());
 
             Row row = sheet.createRow(bigHead.fromRow());
             Cell cell = row.createCell(bigHead.fromColumn());
@@ -67,168 +122,254 @@ public class SheetCreator<T> {
         Row header = sheet.createRow(rowNumber.get());
         List<Field> excelFields = metadata.getExcelFields();
         Excel metaExcel = metadata.getMetaExcel();
-        Workbook workbook = metadata.getWorkbook();
         // 处理字体
         Class<? extends FontStyle> fontStyleClazz = metaExcel.fontStyle();
-        Font font = createFont(workbook, context.getFontStyle(fontStyleClazz));
+        Font font = metadata.getStylePool().getFont(context.getFontStyle(fontStyleClazz));
         // 处理表头高度
         header.setHeight(metaExcel.herderHigh());
         // 处理是否固定表头
         if (metaExcel.freezePane()) {
             sheet.createFreezePane(metaExcel.colSplit(), metaExcel.rowSplit());
         }
+        List<ExcelField> excelFieldAnnotations = metadata.getModelDescriptor().getExcelFieldAnnotations();
         for (int i = 0; i < excelFields.size(); i++) {
-            Field field = excelFields.get(i);
-            ExcelField excelField = field.getAnnotation(ExcelField.class);
+            ExcelField excelField = excelFieldAnnotations.get(i);
             Cell cell = header.createCell(i);
             cell.setCellValue(excelField.value());
-            CellStyle cellStyle = getMediumCellStyle(workbook);
             Class<? extends FontStyle> cellFontStyle = excelField.fontStyle();
-            if (DefaultFontStyle.class.equals(cellFontStyle)) {
-                cellStyle.setFont(font);
-            } else {
-                Font cellFont = createFont(workbook, context.getFontStyle(cellFontStyle));
-                cellStyle.setFont(cellFont);
-            }
-            if (metaExcel.headerColor() != -1) {
-                cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-                cellStyle.setFillForegroundColor(metaExcel.headerColor());
+            Font cellFont = DefaultFontStyle.class.equals(cellFontStyle)
+                    ? font
+                    : metadata.getStylePool().getFont(context.getFontStyle(cellFontStyle));
+            CellStyle cellStyle;
+            try {
+                cellStyle = metadata.getStylePool().getStyle(style -> {
+                    setMediumBorder(style);
+                    style.setFont(cellFont);
+                    if (metaExcel.headerColor() != -1) {
+                        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+                        style.setFillForegroundColor(metaExcel.headerColor());
+                    }
+                    if (excelField.headerColor() != -1) {
+                        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+                        style.setFillForegroundColor(excelField.headerColor());
+                    }
+                    style.setAlignment(excelField.horizontalAlignment());
+                    style.setVerticalAlignment(excelField.verticalAlignment());
+                    return style;
+                }, metadata.getMetrics());
+            } catch (ExcelException e) {
+                throw new ExcelException(String.format("Failed to create the header style of column %s: %s",
+                        excelFields.get(i).getName(), e.getMessage()), e);
             }
-            if (excelField.headerColor() != -1) {
-                cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-                cellStyle.setFillForegroundColor(excelField.headerColor());
-            }
-            cellStyle.setAlignment(excelField.horizontalAlignment());
-            cellStyle.setVerticalAlignment(excelField.verticalAlignment());
             cell.setCellStyle(cellStyle);
             sheet.setColumnWidth(i, excelField.width() * 128);
         }
     }
 
-    protected CellStyle getMediumCellStyle(Workbook workbook) {
-        // 定义Cell格式
-        CellStyle cellStyle = workbook.createCellStyle();
+    private static void setMediumBorder(CellStyle cellStyle) {
         cellStyle.setBorderLeft(BorderStyle.MEDIUM);
         cellStyle.setBorderRight(BorderStyle.MEDIUM);
         cellStyle.setBorderBottom(BorderStyle.MEDIUM);
         cellStyle.setBorderTop(BorderStyle.MEDIUM);
-        return cellStyle;
     }
 
     protected void handleRows(Sheet sheet, AtomicInteger rowNumber) {
         try {
-            List<Field> excelFields = metadata.getExcelFields();
-            Excel metaExcel = metadata.getMetaExcel();
-            for (int i = 0; i < metadata.getData().size(); i++) {
-                T item = metadata.getData().get(i);
-                Row row = sheet.createRow(rowNumber.incrementAndGet());
-                row.setHeight(metaExcel.rowHigh());
-                for (int j = 0; j < excelFields.size(); j++) {
-                    Cell cell = row.createCell(j);
-                    Field field = excelFields.get(j);
-                    Object o = field.get(item);
-                    handleCells(cell, field, o);
-                }
+            long start = System.nanoTime();
+            RowAppender appender = new RowAppender(sheet, rowNumber);
+            Iterator<T> iterator = metadata.getDataIterator();
+            long rows = 0;
+            while (iterator.hasNext()) {
+                appender.accept(iterator.next());
+                rows++;
             }
+            ExcelMetrics metrics = metadata.getMetrics();
+            metrics.time(ExcelMetrics.Phase.ROW_CONVERSION, System.nanoTime() - start);
+            metrics.count(ExcelMetrics.Counter.ROWS, rows);
+            metrics.count(ExcelMetrics.Counter.CELLS, rows * appender.columnWriters.size());
+        } catch (ExcelCancelledException e) {
+            throw e;
         } catch (Exception e) {
             throw new ExcelException(e);
         }
     }
 
-    private static final Set<ExcelField.CellType> DATE_CELL_TYPES = EnumSet.of(ExcelField.CellType.DATE, ExcelField.CellType.TIME);
-    protected void handleCells(Cell cell,
-                                   Field field,
-                                   Object fieldValue) {
-        ExcelField excelField = field.getAnnotation(ExcelField.class);
-        String cellStyleKey = field.getName();
-        AtomicReference<String> label = new AtomicReference<>();
-        if (!excelField.customStyle().equals(CellStyleProcessor.class)) {
-            CellStyleProcessor cellStyleProcessor = context.getBean(excelField.customStyle());
-            label.set(cellStyleProcessor.getLabel(fieldValue));
-            cellStyleKey = String.format("%s-%s", cellStyleKey, label.get());
+    /**
+     * 逐行写入数据，当前sheet写满时拆分到新的sheet
+     */
+    private class RowAppender implements Consumer<T> {
+
+        private final List<ColumnWriter<T>> columnWriters = compileColumnWriters();
+
+        private final short rowHigh = metadata.getMetaExcel().rowHigh();
+
+        private final int lastRowIndex = metadata.getMaxRows() - 1;
+
+        private final RowMonitor monitor = metadata.getMonitor();
+
+        private final String sheetName;
+
+        private final AtomicInteger rowNumber;
+
+        private Sheet sheet;
+
+        private int sheetCount = 1;
+
+        RowAppender(Sheet sheet, AtomicInteger rowNumber) {
+            this.sheet = sheet;
+            this.sheetName = sheet.getSheetName();
+            this.rowNumber = rowNumber;
+            registerStringModes(sheet);
+            if (Objects.nonNull(monitor)) {
+                monitor.check();
+            }
         }
-        // 定义Cell格式
-        CellStyle cellStyle = metadata.getCellStyleMap().computeIfAbsent(cellStyleKey, key -> {
-            CellStyle style = metadata.getWorkbook().createCellStyle();
-            style.setAlignment(excelField.horizontalAlignment());
-            style.setVerticalAlignment(excelField.verticalAlignment());
-            if (DATE_CELL_TYPES.contains(excelField.type())) {
-                style.setDataFormat(metadata.getCreationHelper().createDataFormat().getFormat(excelField.datePattern()));
+
+        @Override
+        public void accept(T item) {
+            if (rowNumber.get() >= lastRowIndex) {
+                sheet = rollover(sheetName, ++sheetCount, rowNumber);
+                registerStringModes(sheet);
             }
-            // 自定义样式
-            if (!excelField.customStyle().equals(CellStyleProcessor.class)) {
-                CellStyleProcessor cellStyleProcessor = context.getBean(excelField.customStyle());
-                style = cellStyleProcessor.customize(style, label.get());
+            Row row = sheet.createRow(rowNumber.incrementAndGet());
+            row.setHeight(rowHigh);
+            for (int j = 0; j < columnWriters.size(); j++) {
+                columnWriters.get(j).write(row, item);
             }
-            return style;
-        });
-
-        cell.setCellStyle(cellStyle);
-        if (Objects.nonNull(fieldValue)) {
-            switch (excelField.type()) {
-                case DATE:
-                    setDateValue(cell, fieldValue);
-                    break;
-                case TIME:
-                    setTimeValue(cell, fieldValue);
-                    break;
-                case NUMERIC:
-                    cell.setCellValue(Double.valueOf(fieldValue.toString()));
-                    break;
-                default: // 默认字符串格式
-                    cell.setCellValue(fieldValue.toString());
+            if (Objects.nonNull(monitor)) {
+                monitor.row();
             }
-        } else {
-            cell.setBlank();
         }
     }
 
-    private void setTimeValue(Cell cell, Object fieldValue) {
-        if (fieldValue instanceof Date) {
-            cell.setCellValue((Date) fieldValue);
-        } else if (fieldValue instanceof Number) {
-            cell.setCellValue(Double.valueOf(fieldValue.toString()));
-        } else if (fieldValue instanceof TemporalAccessor) {
-            cell.setCellValue(DateTimeUtil.convertTime((TemporalAccessor) fieldValue));
-        } else if (fieldValue instanceof String) {
-            cell.setCellValue(DateTimeUtil.convertTime((String) fieldValue));
+    /**
+     * 流式写入时把每一列的字符串保存方式交给 {@link StreamingWorkbook}，其他 workbook 在写入单元格时处理
+     */
+    private void registerStringModes(Sheet sheet) {
+        Workbook workbook = metadata.getWorkbook();
+        if (workbook instanceof StreamingWorkbook) {
+            List<ExcelField> excelFieldAnnotations = metadata.getModelDescriptor().getExcelFieldAnnotations();
+            ExcelField.StringMode[] modes = new ExcelField.StringMode[excelFieldAnnotations.size()];
+            for (int i = 0; i < modes.length; i++) {
+                modes[i] = getStringMode(excelFieldAnnotations.get(i));
+            }
+            ((StreamingWorkbook) workbook).setStringModes(sheet, modes);
         }
     }
 
-    private void setDateValue(Cell cell, Object fieldValue) {
-        if (fieldValue instanceof Date) {
-            cell.setCellValue((Date) fieldValue);
-        } else if (fieldValue instanceof Number) {
-            cell.setCellValue(Double.valueOf(fieldValue.toString()));
-        } else if (fieldValue instanceof LocalDateTime) {
-            cell.setCellValue((LocalDateTime) fieldValue);
-        } else if (fieldValue instanceof LocalDate) {
-            cell.setCellValue((LocalDate) fieldValue);
-        } else if (fieldValue instanceof String) {
-            Double excelTime = DateTimeUtil.parseDateTime((String) fieldValue);
-            if(Objects.nonNull(excelTime))
-                cell.setCellValue(excelTime);
+    /**
+     * 文本列的字符串保存方式，字段没有设置时使用类上的设置
+     */
+    private ExcelField.StringMode getStringMode(ExcelField excelField) {
+        if (!ExcelField.CellType.TEXT.equals(excelField.type())) {
+            return ExcelField.StringMode.DEFAULT;
         }
+        return ExcelField.StringMode.DEFAULT.equals(excelField.stringMode())
+                ? metadata.getMetaExcel().stringMode()
+                : excelField.stringMode();
     }
 
-    private Font createFont(Workbook workbook, FontStyle fontStyle) {
-        Font font = workbook.createFont();
-        font.setBold(fontStyle.getBold());
-        font.setItalic(fontStyle.getItalic());
-        font.setUnderline(fontStyle.getUnderline());
-        font.setTypeOffset(fontStyle.getTypeOffset());
-        font.setColor(fontStyle.getColor());
-        font.setStrikeout(fontStyle.getStrikeout());
-        font.setCharSet(fontStyle.getCharSet());
-        if (Objects.nonNull(fontStyle.getFontName())) {
-            font.setFontName(fontStyle.getFontName());
+    /**
+     * 当前sheet已写满，创建 "名称 (2)"、"名称 (3)" 等新的sheet，并重新写入大标题和表头
+     *
+     * @return 新的sheet
+     */
+    private Sheet rollover(String sheetName, int number, AtomicInteger rowNumber) {
+        Workbook workbook = metadata.getWorkbook();
+        // 多个sheet同时写入时需要同步创建sheet和样式
+        synchronized (workbook) {
+            Sheet next = workbook.createSheet(nextSheetName(workbook, sheetName, number));
+            rowNumber.set(0);
+            handleHeaders(next, rowNumber);
+            if (rowNumber.get() >= metadata.getMaxRows() - 1) {
+                throw new ExcelException(String.format("Max rows %d is too small for the header of sheet %s",
+                        metadata.getMaxRows(), metadata.getSheetName()));
+            }
+            return next;
         }
-        if (fontStyle.getFontHeight() != -1) {
-            font.setFontHeight(fontStyle.getFontHeight());
+    }
+
+    /**
+     * 在第一个sheet的名称后加上序号，名称已被占用时序号递增，名称不超过31个字符
+     */
+    private static String nextSheetName(Workbook workbook, String sheetName, int number) {
+        String name;
+        do {
+            String suffix = " (" + number++ + ")";
+            name = sheetName.length() + suffix.length() > MAX_SHEET_NAME_LENGTH
+                    ? sheetName.substring(0, MAX_SHEET_NAME_LENGTH - suffix.length()) + suffix
+                    : sheetName + suffix;
+        } while (workbook.getSheet(name) != null);
+        return name;
+    }
+
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    /**
+     * 为每一列编译写入计划，样式在第一次使用时创建
+     */
+    private List<ColumnWriter<T>> compileColumnWriters() {
+        List<FieldAccessor<T>> fieldAccessors = metadata.getFieldAccessors();
+        List<ExcelField> excelFieldAnnotations = metadata.getModelDescriptor().getExcelFieldAnnotations();
+        List<ColumnWriter<T>> columnWriters = new ArrayList<>(fieldAccessors.size());
+        for (int i = 0; i < fieldAccessors.size(); i++) {
+            FieldAccessor<T> fieldAccessor = fieldAccessors.get(i);
+            Field field = fieldAccessor.getField();
+            ExcelField excelField = excelFieldAnnotations.get(i);
+            CellStyleProcessor cellStyleProcessor = excelField.customStyle().equals(CellStyleProcessor.class)
+                    ? null
+                    : context.getBean(excelField.customStyle());
+            columnWriters.add(new ColumnWriter<>(i, fieldAccessor, excelField, cellStyleProcessor,
+                    label -> getCellStyle(field, excelField, label), getStringMode(excelField)));
         }
-        if (fontStyle.getFontHeightInPoints() != -1) {
-            font.setFontHeight(fontStyle.getFontHeightInPoints());
+        return columnWriters;
+    }
+
+    private static final Set<ExcelField.CellType> DATE_CELL_TYPES = EnumSet.of(ExcelField.CellType.DATE, ExcelField.CellType.TIME);
+
+    /**
+     * 字段名不会包含的字符，区分 cellStyleMap 中的基础样式
+     */
+    private static final String BASE_STYLE_PREFIX = "#";
+
+    private CellStyle getCellStyle(Field field, ExcelField excelField, String label) {
+        // 样式属于整个 workbook，多个sheet同时写入时需要同步创建
+        synchronized (metadata.getWorkbook()) {
+            try {
+                if (Objects.isNull(label)) {
+                    return metadata.getCellStyleMap().computeIfAbsent(field.getName(),
+                            key -> metadata.getStylePool().getStyle(style -> setupCellStyle(style, excelField, null, true),
+                                    metadata.getMetrics()));
+                }
+                // 不带自定义样式的基础样式，样式数量达到上限后新的标签使用它，需要在达到上限之前创建
+                CellStyle baseStyle = metadata.getCellStyleMap().computeIfAbsent(BASE_STYLE_PREFIX + field.getName(),
+                        key -> metadata.getStylePool().getStyle(style -> setupCellStyle(style, excelField, null, false),
+                                metadata.getMetrics()));
+                // 带标签的样式不缓存在 cellStyleMap 中，避免标签很多时无限增长，相同的样式由样式池复用
+                CellStyle cellStyle = metadata.getStylePool().tryGetStyle(
+                        style -> setupCellStyle(style, excelField, label, true), metadata.getMetrics());
+                return Objects.isNull(cellStyle) ? baseStyle : cellStyle;
+            } catch (ExcelException e) {
+                throw new ExcelException(String.format("Failed to create the cell style of column %s: %s",
+                        field.getName(), e.getMessage()), e);
+            }
+        }
+    }
+
+    /**
+     * @param customize 是否由自定义样式处理器修改样式
+     */
+    private CellStyle setupCellStyle(CellStyle style, ExcelField excelField, String label, boolean customize) {
+        style.setAlignment(excelField.horizontalAlignment());
+        style.setVerticalAlignment(excelField.verticalAlignment());
+        if (DATE_CELL_TYPES.contains(excelField.type())) {
+            style.setDataFormat(metadata.getCreationHelper().createDataFormat().getFormat(excelField.datePattern()));
+        }
+        // 自定义样式
+        if (customize && !excelField.customStyle().equals(CellStyleProcessor.class)) {
+            CellStyleProcessor cellStyleProcessor = context.getBean(excelField.customStyle());
+            style = cellStyleProcessor.customize(style, label);
         }
-        return font;
+        return style;
     }
 }
@@ -0,0 +1,236 @@
+package io.github.xinshepherd.excel.core;
+
+import io.github.xinshepherd.excel.annotation.ExcelField;
+import org.apache.poi.openxml4j.util.ZipFileZipEntrySource;
+import org.apache.poi.openxml4j.util.ZipSecureFile;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 可以按列选择共享字符串表或内联字符串的 {@link SXSSFWorkbook}
+ *
+ * {@link SXSSFWorkbook} 只能为整个 workbook 选择是否使用共享字符串表，
+ * 这里在写入临时文件时按 {@link ExcelField#stringMode()} 逐列处理，没有设置的列仍使用创建时的参数。
+ * 另外可以通过 {@link #setTempDirectory(File)} 指定临时文件所在的目录
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public class StreamingWorkbook extends SXSSFWorkbook {
+
+    /**
+     * 每个sheet按列保存的字符串保存方式
+     */
+    private final Map<Sheet, ExcelField.StringMode[]> stringModes = new ConcurrentHashMap<>();
+
+    /**
+     * 临时文件所在目录，为 null 时使用 POI 的默认目录
+     */
+    private volatile File tempDirectory;
+
+    public StreamingWorkbook() {
+        super();
+    }
+
+    /**
+     * @param rowAccessWindowSize 每个sheet在内存中保留的行数
+     */
+    public StreamingWorkbook(int rowAccessWindowSize) {
+        super(rowAccessWindowSize);
+    }
+
+    /**
+     * @param workbook              模板
+     * @param rowAccessWindowSize   每个sheet在内存中保留的行数
+     * @param compressTmpFiles      是否压缩临时文件
+     * @param useSharedStringsTable 没有设置字符串保存方式的列是否使用共享字符串表
+     */
+    public StreamingWorkbook(XSSFWorkbook workbook, int rowAccessWindowSize,
+                             boolean compressTmpFiles, boolean useSharedStringsTable) {
+        super(workbook, rowAccessWindowSize, compressTmpFiles, useSharedStringsTable);
+    }
+
+    /**
+     * 设置sheet每一列的字符串保存方式，需要在写入数据行之前设置
+     */
+    void setStringModes(Sheet sheet, ExcelField.StringMode[] modes) {
+        stringModes.put(sheet, modes);
+    }
+
+    /**
+     * 设置临时文件所在的目录，包括每个sheet的数据和写出时的模板。sheet的临时文件在创建sheet时生成，需要在创建sheet之前设置
+     *
+     * @param tempDirectory 已存在的目录，为 null 时使用 POI 的默认目录
+     */
+    public void setTempDirectory(File tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    public File getTempDirectory() {
+        return tempDirectory;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        return new ColumnStringWriter();
+    }
+
+    /**
+     * 设置了临时文件目录时，模板也写入该目录，写出后立即删除
+     */
+    @Override
+    public void write(OutputStream stream) throws IOException {
+        File directory = tempDirectory;
+        if (directory == null) {
+            super.write(stream);
+            return;
+        }
+        flushSheets();
+        File template = File.createTempFile("poi-sxssf-template", ".xlsx", directory);
+        try {
+            try (OutputStream out = new FileOutputStream(template)) {
+                getXSSFWorkbook().write(out);
+            }
+            try (ZipSecureFile zipFile = new ZipSecureFile(template);
+                 ZipFileZipEntrySource source = new ZipFileZipEntrySource(zipFile)) {
+                injectData(source, stream);
+            }
+        } finally {
+            Files.deleteIfExists(template.toPath());
+        }
+    }
+
+    /**
+     * 按列写入字符串的临时文件，其他类型的单元格由父类写入
+     *
+     * 父类在构造方法中调用 createWriter 和 decorateOutputStream，
+     * 所以 out、compressed 不能有初始值
+     */
+    private class ColumnStringWriter extends SheetDataWriter {
+
+        private Writer out;
+
+        private boolean compressed;
+
+        private int rowNumber;
+
+        private ExcelField.StringMode[] modes;
+
+        ColumnStringWriter() throws IOException {
+            super(getSharedStringSource());
+        }
+
+        @Override
+        public File createTempFile() throws IOException {
+            File directory = getTempDirectory();
+            return directory == null
+                    ? super.createTempFile()
+                    : File.createTempFile("poi-sxssf-sheet", ".xml", directory);
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            out = super.createWriter(fd);
+            return out;
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+            compressed = isCompressTempFiles();
+            return compressed ? new GZIPOutputStream(fos) : fos;
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) throws IOException {
+            return compressed ? new GZIPInputStream(fis) : fis;
+        }
+
+        @Override
+        public void writeRow(int rownum, SXSSFRow row) throws IOException {
+            rowNumber = rownum;
+            super.writeRow(rownum, row);
+        }
+
+        @Override
+        public void writeCell(int columnIndex, Cell cell) throws IOException {
+            if (cell != null && CellType.STRING.equals(cell.getCellType())) {
+                ExcelField.StringMode mode = stringMode(cell.getSheet(), columnIndex);
+                boolean shared = getSharedStringSource() != null;
+                if (ExcelField.StringMode.INLINE.equals(mode) && shared) {
+                    writeStringCell(columnIndex, cell, false);
+                    return;
+                }
+                if (ExcelField.StringMode.SHARED.equals(mode) && !shared) {
+                    writeStringCell(columnIndex, cell, true);
+                    return;
+                }
+            }
+            super.writeCell(columnIndex, cell);
+        }
+
+        private ExcelField.StringMode stringMode(Sheet sheet, int columnIndex) {
+            if (modes == null) {
+                modes = stringModes.get(sheet);
+            }
+            return modes == null || columnIndex >= modes.length
+                    ? ExcelField.StringMode.DEFAULT
+                    : modes[columnIndex];
+        }
+
+        private void writeStringCell(int columnIndex, Cell cell, boolean shared) throws IOException {
+            out.write("<c r=\"");
+            out.write(new CellReference(rowNumber, columnIndex).formatAsString());
+            out.write('"');
+            CellStyle cellStyle = cell.getCellStyle();
+            if (cellStyle.getIndex() != 0) {
+                out.write(" s=\"");
+                out.write(Integer.toString(cellStyle.getIndex() & 0xffff));
+                out.write('"');
+            }
+            String value = cell.getStringCellValue();
+            if (shared) {
+                SharedStringsTable sharedStrings = getXSSFWorkbook().getSharedStringSource();
+                int index;
+                // 不同sheet可能在不同线程中写入临时文件
+                synchronized (sharedStrings) {
+                    index = sharedStrings.addSharedStringItem(new XSSFRichTextString(value));
+                }
+                out.write(" t=\"s\"><v>");
+                out.write(Integer.toString(index));
+                out.write("</v>");
+            } else {
+                out.write(" t=\"inlineStr\"><is><t");
+                if (!value.isEmpty() && (Character.isWhitespace(value.charAt(0))
+                        || Character.isWhitespace(value.charAt(value.length() - 1)))) {
+                    out.write(" xml:space=\"preserve\"");
+                }
+                out.write('>');
+                outputQuotedString(value);
+                out.write("</t></is>");
+            }
+            out.write("</c>");
+        }
+    }
+}
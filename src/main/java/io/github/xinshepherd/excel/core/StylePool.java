@@ -0,0 +1,279 @@
+package io.github.xinshepherd.excel.core;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Color;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * workbook 级别的样式池，按样式的实际属性(对齐、边框、填充、数据格式、字体等)去重，同一个 workbook 的所有sheet共用
+ *
+ * 样式先在一个临时样式上设置好，属性相同的样式已经存在时直接复用，否则临时样式本身成为新的样式，
+ * 避免多个sheet、多个列重复创建相同的样式而超出 xls 最多4000个样式的限制。
+ * 临时样式以 workbook 的默认单元格样式为模板重置，最多只有一个没有使用的临时样式，也计入创建的样式数量。
+ * workbook 的样式总数不会超过 maxStyles，默认比文件格式的上限少 {@link #RESERVED_STYLES} 个，达到上限后只能复用已有的样式。
+ * 字体同样按 {@link FontStyle} 的属性去重，每种字体只创建一次
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ * @see HSSFWorkbook#createCellStyle()
+ */
+public final class StylePool {
+
+    /**
+     * 默认给样式池之外创建的样式留出的数量
+     */
+    public static final int RESERVED_STYLES = 100;
+
+    private final Workbook workbook;
+
+    private final Map<List<Object>, CellStyle> styles = new HashMap<>();
+
+    private final Map<List<Object>, Font> fonts = new HashMap<>();
+
+    /** 临时样式，每次设置前重置，成为新的样式后再另外创建 */
+    private CellStyle scratch;
+
+    private int createdCount;
+
+    private int reusedCount;
+
+    private int maxStyles;
+
+    public StylePool(Workbook workbook) {
+        this.workbook = Objects.requireNonNull(workbook, "workbook not null");
+        this.maxStyles = workbook.getSpreadsheetVersion().getMaxCellStyles() - RESERVED_STYLES;
+    }
+
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    /**
+     * @return workbook 最多的样式数量，包括默认样式和样式池之外创建的样式
+     */
+    public int getMaxStyles() {
+        synchronized (workbook) {
+            return maxStyles;
+        }
+    }
+
+    /**
+     * @param maxStyles workbook 最多的样式数量，不能超过文件格式的上限
+     */
+    public void setMaxStyles(int maxStyles) {
+        int limit = workbook.getSpreadsheetVersion().getMaxCellStyles();
+        if (maxStyles <= 0 || maxStyles > limit) {
+            throw new IllegalArgumentException(String.format("maxStyles must be in (0, %d]", limit));
+        }
+        synchronized (workbook) {
+            this.maxStyles = maxStyles;
+        }
+    }
+
+    /**
+     * 获取设置好的样式，不记录指标
+     *
+     * @see #getStyle(UnaryOperator, ExcelMetrics)
+     */
+    public CellStyle getStyle(UnaryOperator<CellStyle> setup) {
+        return getStyle(setup, ExcelMetrics.NOOP);
+    }
+
+    /**
+     * 获取设置好的样式
+     *
+     * @param setup   修改传入的临时样式并返回，也可以返回自己创建的样式。临时样式会被反复使用，不能保存
+     * @param metrics 记录新创建的样式数量和耗时，通常是调用方所在sheet的指标
+     * @return 属性相同的已有样式，或新创建的样式
+     * @throws ExcelException 样式数量达到 maxStyles 且没有属性相同的样式
+     * @since 1.4.1
+     */
+    public CellStyle getStyle(UnaryOperator<CellStyle> setup, ExcelMetrics metrics) {
+        CellStyle style = tryGetStyle(setup, metrics);
+        if (Objects.isNull(style)) {
+            throw new ExcelException(String.format("The workbook has reached the limit of %d cell styles", maxStyles));
+        }
+        return style;
+    }
+
+    /**
+     * 与 {@link #getStyle(UnaryOperator, ExcelMetrics)} 相同，样式数量达到 maxStyles 时不抛出异常
+     *
+     * @return 属性相同的已有样式，或新创建的样式，达到上限且没有属性相同的样式时为 null
+     * @since 1.4.1
+     */
+    public CellStyle tryGetStyle(UnaryOperator<CellStyle> setup, ExcelMetrics metrics) {
+        Objects.requireNonNull(metrics, "metrics not null");
+        long start = System.nanoTime();
+        // 样式属于整个 workbook，多个sheet同时写入时需要同步创建
+        synchronized (workbook) {
+            if (Objects.isNull(scratch)) {
+                if (isFull()) {
+                    return null;
+                }
+                scratch = createStyle(metrics);
+            }
+            // 新创建的样式与默认样式的部分属性不同，也需要重置，保证相同的设置得到相同的属性
+            scratch.cloneStyleFrom(defaultStyle());
+            CellStyle configured = Objects.requireNonNull(setup.apply(scratch), "style not null");
+            List<Object> key = key(configured);
+            CellStyle style = styles.get(key);
+            if (Objects.nonNull(style)) {
+                reusedCount++;
+                return style;
+            }
+            if (configured == scratch) {
+                // 临时样式也计入样式总数，成为新的样式后还需要留出再创建临时样式的位置
+                if (isFull()) {
+                    return null;
+                }
+                scratch = null;
+            } else {
+                createdCount++;
+                metrics.count(ExcelMetrics.Counter.STYLES, 1);
+            }
+            styles.put(key, configured);
+            metrics.time(ExcelMetrics.Phase.STYLE_CREATION, System.nanoTime() - start);
+            return configured;
+        }
+    }
+
+    /**
+     * 获取字体，属性相同的 {@link FontStyle} 共用一个字体
+     *
+     * @param fontStyle 字体样式
+     * @return 字体
+     */
+    public Font getFont(FontStyle fontStyle) {
+        synchronized (workbook) {
+            return fonts.computeIfAbsent(fontKey(fontStyle), key -> createFont(fontStyle));
+        }
+    }
+
+    /**
+     * @return 创建的字体数量
+     */
+    public int getFontCount() {
+        synchronized (workbook) {
+            return fonts.size();
+        }
+    }
+
+    /**
+     * @return 创建的样式数量，包括还没有使用的临时样式，即样式池在 workbook 中增加的样式数量
+     */
+    public int getCreatedCount() {
+        synchronized (workbook) {
+            return createdCount;
+        }
+    }
+
+    /**
+     * @return 复用已有样式的次数
+     */
+    public int getReusedCount() {
+        synchronized (workbook) {
+            return reusedCount;
+        }
+    }
+
+    private boolean isFull() {
+        return workbook.getNumCellStyles() >= maxStyles;
+    }
+
+    /**
+     * xls 的前15个是单元格样式继承的样式记录，序号15才是单元格的默认样式，xlsx 为序号0
+     */
+    private CellStyle defaultStyle() {
+        return workbook.getCellStyleAt(workbook instanceof HSSFWorkbook ? 15 : 0);
+    }
+
+    /**
+     * 在 workbook 中创建新的样式，计入创建的样式数量
+     */
+    private CellStyle createStyle(ExcelMetrics metrics) {
+        createdCount++;
+        metrics.count(ExcelMetrics.Counter.STYLES, 1);
+        return workbook.createCellStyle();
+    }
+
+    private static List<Object> key(CellStyle style) {
+        return Arrays.asList(
+                style.getAlignment(),
+                style.getVerticalAlignment(),
+                style.getBorderLeft(),
+                style.getBorderRight(),
+                style.getBorderTop(),
+                style.getBorderBottom(),
+                style.getLeftBorderColor(),
+                style.getRightBorderColor(),
+                style.getTopBorderColor(),
+                style.getBottomBorderColor(),
+                style.getFillPattern(),
+                style.getFillForegroundColor(),
+                style.getFillBackgroundColor(),
+                rgb(style.getFillForegroundColorColor()),
+                rgb(style.getFillBackgroundColorColor()),
+                style.getDataFormat(),
+                style.getFontIndexAsInt(),
+                style.getWrapText(),
+                style.getIndention(),
+                style.getRotation(),
+                style.getHidden(),
+                style.getLocked(),
+                style.getShrinkToFit(),
+                style.getQuotePrefixed());
+    }
+
+    private static List<Object> fontKey(FontStyle fontStyle) {
+        return Arrays.asList(
+                fontStyle.getFontName(),
+                fontStyle.getItalic(),
+                fontStyle.getColor(),
+                fontStyle.getBold(),
+                fontStyle.getFontHeight(),
+                fontStyle.getFontHeightInPoints(),
+                fontStyle.getUnderline(),
+                fontStyle.getTypeOffset(),
+                fontStyle.getCharSet(),
+                fontStyle.getStrikeout());
+    }
+
+    private Font createFont(FontStyle fontStyle) {
+        Font font = workbook.createFont();
+        font.setBold(fontStyle.getBold());
+        font.setItalic(fontStyle.getItalic());
+        font.setUnderline(fontStyle.getUnderline());
+        font.setTypeOffset(fontStyle.getTypeOffset());
+        font.setColor(fontStyle.getColor());
+        font.setStrikeout(fontStyle.getStrikeout());
+        font.setCharSet(fontStyle.getCharSet());
+        if (Objects.nonNull(fontStyle.getFontName())) {
+            font.setFontName(fontStyle.getFontName());
+        }
+        if (fontStyle.getFontHeight() != -1) {
+            font.setFontHeight(fontStyle.getFontHeight());
+        }
+        if (fontStyle.getFontHeightInPoints() != -1) {
+            font.setFontHeight(fontStyle.getFontHeightInPoints());
+        }
+        return font;
+    }
+
+    /**
+     * xlsx 的颜色可以不使用索引
+     */
+    private static String rgb(Color color) {
+        return color instanceof XSSFColor ? ((XSSFColor) color).getARGBHex() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.xinshepherd.excel.core.base;
+
+/**
+ * 导入时把单元格的值转换为字段类型
+ *
+ * 通过 {@link ImporterBase#converter(Class, CellConverter)} 按字段类型登记，优先于内置的转换。
+ * 每列只查找一次转换器，解析时同一个转换器会被多行、多个sheet同时使用，需要是线程安全的
+ *
+ * @param <T> 字段类型
+ * @author Fuxin
+ * @since 1.4.1
+ */
+@FunctionalInterface
+public interface CellConverter<T> {
+
+    /**
+     * @param cell 单元格的值，不要保存它的引用
+     * @return 字段的值
+     * @throws Exception 转换失败
+     */
+    T convert(ImportCell cell) throws Exception;
+}
@@ -0,0 +1,344 @@
+package io.github.xinshepherd.excel.core.base;
+
+import io.github.xinshepherd.excel.core.ExcelException;
+import io.github.xinshepherd.excel.core.util.DateTimeUtil;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 单列的读取计划，在解析数据行之前按列编译一次
+ *
+ * 转换方式和字段的写入方式都在编译时确定，基本类型的字段按类型转换后直接写入，不会装箱
+ *
+ * 内置支持 String、int、long、short、byte、double、float、boolean 及其包装类型，
+ * 以及 Date、LocalDate、LocalDateTime、BigDecimal 和枚举(按名称或序号)。
+ * 除数字的包装类型外，空单元格对应的对象类型字段为 null
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+abstract class ColumnReader {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Field field;
+
+    ColumnReader(Field field) {
+        this.field = field;
+    }
+
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * 转换单元格的值并写入字段
+     */
+    abstract void read(Object target, ImportCell cell) throws Throwable;
+
+    /**
+     * @param field     字段
+     * @param converter 登记的转换器，没有时为 null，使用内置的转换
+     * @return 读取计划
+     */
+    static ColumnReader of(Field field, CellConverter<?> converter) {
+        Class<?> type = field.getType();
+        MethodHandle setter = setter(field);
+        if (converter == null) {
+            if (int.class.equals(type) || short.class.equals(type) || byte.class.equals(type)) {
+                return new IntReader(field, ColumnReader::toInt, setter);
+            }
+            if (long.class.equals(type)) {
+                return new LongReader(field, ColumnReader::toLong, setter);
+            }
+            if (double.class.equals(type) || float.class.equals(type)) {
+                return new DoubleReader(field, ColumnReader::toDouble, setter);
+            }
+            if (boolean.class.equals(type)) {
+                return new BooleanReader(field, ColumnReader::toBoolean, setter);
+            }
+            converter = builtIn(type);
+            if (converter == null) {
+                throw new ExcelException(String.format("Not support %s for now.", type.getName()));
+            }
+        }
+        return new ObjectReader(field, converter, setter);
+    }
+
+    private static MethodHandle setter(Field field) {
+        try {
+            field.setAccessible(true);
+            return LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    private static CellConverter<?> builtIn(Class<?> type) {
+        if (String.class.equals(type)) {
+            return ImportCell::getStringCellValue;
+        }
+        if (Integer.class.equals(type)) {
+            return ColumnReader::toInt;
+        }
+        if (Long.class.equals(type)) {
+            return ColumnReader::toLong;
+        }
+        if (Short.class.equals(type)) {
+            return cell -> (short) toInt(cell);
+        }
+        if (Byte.class.equals(type)) {
+            return cell -> (byte) toInt(cell);
+        }
+        if (Double.class.equals(type)) {
+            return ColumnReader::toDouble;
+        }
+        if (Float.class.equals(type)) {
+            return cell -> (float) toDouble(cell);
+        }
+        if (Boolean.class.equals(type)) {
+            return cell -> isBlank(cell) ? null : toBoolean(cell);
+        }
+        if (BigDecimal.class.equals(type)) {
+            return cell -> isBlank(cell) ? null : new BigDecimal(cell.getStringCellValue().trim());
+        }
+        if (Date.class.equals(type)) {
+            return cell -> isBlank(cell) ? null : DateUtil.getJavaDate(toExcelDate(cell));
+        }
+        if (LocalDateTime.class.equals(type)) {
+            return cell -> isBlank(cell) ? null : DateTimeUtil.toLocalDateTime(toExcelDate(cell));
+        }
+        if (LocalDate.class.equals(type)) {
+            return cell -> isBlank(cell) ? null : DateTimeUtil.toLocalDateTime(toExcelDate(cell)).toLocalDate();
+        }
+        if (type.isEnum()) {
+            return enumConverter(type);
+        }
+        return null;
+    }
+
+    private static boolean isBlank(ImportCell cell) {
+        switch (cell.getCellType()) {
+            case BLANK:
+                return true;
+            case STRING:
+                return cell.getStringCellValue().trim().isEmpty();
+            default:
+                return false;
+        }
+    }
+
+    private static int toInt(ImportCell cell) {
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                return (int) cell.getNumericCellValue();
+            case STRING:
+                return Integer.parseInt(cell.getStringCellValue().trim());
+            default:
+                return 0;
+        }
+    }
+
+    private static long toLong(ImportCell cell) {
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                return (long) cell.getNumericCellValue();
+            case STRING:
+                return Long.parseLong(cell.getStringCellValue().trim());
+            default:
+                return 0L;
+        }
+    }
+
+    private static double toDouble(ImportCell cell) {
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                return cell.getNumericCellValue();
+            case STRING:
+                return Double.parseDouble(cell.getStringCellValue().trim());
+            default:
+                return 0.0;
+        }
+    }
+
+    /**
+     * 文本支持 true、false、1、0，不区分大小写，数字不为0时为 true
+     */
+    private static boolean toBoolean(ImportCell cell) {
+        switch (cell.getCellType()) {
+            case BOOLEAN:
+                return cell.getBooleanCellValue();
+            case NUMERIC:
+                return cell.getNumericCellValue() != 0;
+            case STRING:
+                String value = cell.getStringCellValue().trim();
+                if ("true".equalsIgnoreCase(value) || "1".equals(value)) {
+                    return true;
+                }
+                if ("false".equalsIgnoreCase(value) || "0".equals(value) || value.isEmpty()) {
+                    return false;
+                }
+                throw new IllegalArgumentException(value + " is not a boolean");
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 日期单元格直接使用其数字，文本按 {@link DateTimeUtil#parseDateTime(String)} 解析
+     */
+    private static double toExcelDate(ImportCell cell) {
+        if (CellType.STRING.equals(cell.getCellType())) {
+            Double excelDate = DateTimeUtil.parseDateTime(cell.getStringCellValue().trim());
+            if (excelDate == null) {
+                throw new IllegalArgumentException(cell.getStringCellValue() + " is not a date");
+            }
+            return excelDate;
+        }
+        return cell.getNumericCellValue();
+    }
+
+    /**
+     * 文本按枚举名称匹配，数字或全是数字的文本按序号匹配
+     */
+    private static CellConverter<?> enumConverter(Class<?> type) {
+        Object[] constants = type.getEnumConstants();
+        Map<String, Object> names = new HashMap<>(constants.length * 2);
+        for (Object constant : constants) {
+            names.put(((Enum<?>) constant).name(), constant);
+        }
+        return cell -> {
+            if (isBlank(cell)) {
+                return null;
+            }
+            int ordinal;
+            if (CellType.STRING.equals(cell.getCellType())) {
+                String value = cell.getStringCellValue().trim();
+                Object constant = names.get(value);
+                if (constant != null) {
+                    return constant;
+                }
+                ordinal = Integer.parseInt(value);
+            } else {
+                ordinal = (int) cell.getNumericCellValue();
+            }
+            if (ordinal < 0 || ordinal >= constants.length) {
+                throw new IllegalArgumentException(String.format("%d is out of range of %s", ordinal, type.getName()));
+            }
+            return constants[ordinal];
+        };
+    }
+
+    private static class ObjectReader extends ColumnReader {
+
+        private final CellConverter<?> converter;
+
+        private final MethodHandle setter;
+
+        ObjectReader(Field field, CellConverter<?> converter, MethodHandle setter) {
+            super(field);
+            this.converter = converter;
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+
+        @Override
+        void read(Object target, ImportCell cell) throws Throwable {
+            setter.invokeExact(target, (Object) converter.convert(cell));
+        }
+    }
+
+    /**
+     * int、short、byte 字段
+     */
+    private static class IntReader extends ColumnReader {
+
+        private final ToIntFunction<ImportCell> function;
+
+        private final MethodHandle setter;
+
+        IntReader(Field field, ToIntFunction<ImportCell> function, MethodHandle setter) {
+            super(field);
+            this.function = function;
+            this.setter = MethodHandles.explicitCastArguments(setter,
+                    MethodType.methodType(void.class, Object.class, int.class));
+        }
+
+        @Override
+        void read(Object target, ImportCell cell) throws Throwable {
+            setter.invokeExact(target, function.applyAsInt(cell));
+        }
+    }
+
+    private static class LongReader extends ColumnReader {
+
+        private final ToLongFunction<ImportCell> function;
+
+        private final MethodHandle setter;
+
+        LongReader(Field field, ToLongFunction<ImportCell> function, MethodHandle setter) {
+            super(field);
+            this.function = function;
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+        }
+
+        @Override
+        void read(Object target, ImportCell cell) throws Throwable {
+            setter.invokeExact(target, function.applyAsLong(cell));
+        }
+    }
+
+    /**
+     * double、float 字段
+     */
+    private static class DoubleReader extends ColumnReader {
+
+        private final ToDoubleFunction<ImportCell> function;
+
+        private final MethodHandle setter;
+
+        DoubleReader(Field field, ToDoubleFunction<ImportCell> function, MethodHandle setter) {
+            super(field);
+            this.function = function;
+            this.setter = MethodHandles.explicitCastArguments(setter,
+                    MethodType.methodType(void.class, Object.class, double.class));
+        }
+
+        @Override
+        void read(Object target, ImportCell cell) throws Throwable {
+            setter.invokeExact(target, function.applyAsDouble(cell));
+        }
+    }
+
+    private static class BooleanReader extends ColumnReader {
+
+        private final Predicate<ImportCell> function;
+
+        private final MethodHandle setter;
+
+        BooleanReader(Field field, Predicate<ImportCell> function, MethodHandle setter) {
+            super(field);
+            this.function = function;
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+        }
+
+        @Override
+        void read(Object target, ImportCell cell) throws Throwable {
+            setter.invokeExact(target, function.test(cell));
+        }
+    }
+}
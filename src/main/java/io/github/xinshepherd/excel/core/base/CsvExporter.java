@@ -0,0 +1,513 @@
+package io.github.xinshepherd.excel.core.base;
+
+import io.github.xinshepherd.excel.annotation.Excel;
+import io.github.xinshepherd.excel.annotation.ExcelField;
+import io.github.xinshepherd.excel.core.ExcelException;
+import io.github.xinshepherd.excel.core.FieldAccessor;
+import io.github.xinshepherd.excel.core.ModelDescriptor;
+import io.github.xinshepherd.excel.core.util.DateTimeUtil;
+import io.github.xinshepherd.excel.core.util.NumberUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 按 {@link Excel}、{@link ExcelField} 注解导出 CSV，不创建任何 POI 对象
+ *
+ * 列的顺序、表头 (value)、单元格类型 (type) 和日期格式 (datePattern) 与导出 excel 时相同，样式相关的设置被忽略。
+ * 每列的格式化方式只编译一次，数据逐行格式化到复用的字符缓冲区中，缓冲区写满时才写入底层的 {@link Writer}。
+ * long、BigDecimal、BigInteger 不经过 double，会保留所有数字；double、float 与 excel 一样最多保留15位有效数字。
+ * 日期、时间列中的字符串与导出 excel 时一样先解析，再按日期格式输出
+ *
+ * 默认逗号分隔、CRLF 换行，包含分隔符、引号或换行的值用双引号括起来 (RFC 4180)。不是线程安全的
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public class CsvExporter implements Closeable, Flushable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    private final char[] buffer;
+
+    private int position;
+
+    /**
+     * 格式化整数时复用
+     */
+    private final StringBuilder digits = new StringBuilder(20);
+
+    private char delimiter = ',';
+
+    private boolean header = true;
+
+    /**
+     * @param writer 输出，关闭时一起关闭
+     */
+    public CsvExporter(Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param writer     输出，关闭时一起关闭
+     * @param bufferSize 缓冲区的字符数
+     */
+    public CsvExporter(Writer writer, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.writer = Objects.requireNonNull(writer, "writer not null");
+        this.buffer = new char[bufferSize];
+    }
+
+    public static CsvExporter of(OutputStream out, Charset charset) {
+        return new CsvExporter(new OutputStreamWriter(out, charset));
+    }
+
+    public static CsvExporter of(WritableByteChannel channel, Charset charset) {
+        return new CsvExporter(Channels.newWriter(channel, charset.newEncoder(), -1));
+    }
+
+    /**
+     * 写入文件，文件已存在时覆盖
+     */
+    public static CsvExporter of(Path path, Charset charset) throws IOException {
+        return of(Files.newOutputStream(path), charset);
+    }
+
+    /**
+     * @param delimiter 分隔符，默认逗号
+     */
+    public CsvExporter delimiter(char delimiter) {
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Illegal delimiter " + delimiter);
+        }
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * @param header 是否写入表头，默认写入
+     */
+    public CsvExporter header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * 写入表头和所有数据，多次调用时依次追加在后面
+     *
+     * @param clazz 带有 {@link Excel} 注解的实体类
+     * @param data  数据，逐行遍历
+     */
+    public <T> CsvExporter write(Class<T> clazz, Iterator<T> data) throws IOException {
+        ModelDescriptor<T> descriptor = ModelDescriptor.of(clazz);
+        if (Objects.isNull(descriptor.getExcel())) {
+            throw new ExcelException(String.format("Can not get the @Excel annotation from this class %s", clazz.getName()));
+        }
+        List<ExcelField> excelFields = descriptor.getExcelFieldAnnotations();
+        List<FieldAccessor<T>> fieldAccessors = descriptor.getFieldAccessors();
+        if (header) {
+            for (int i = 0; i < excelFields.size(); i++) {
+                if (i > 0) {
+                    append(delimiter);
+                }
+                appendEscaped(excelFields.get(i).value());
+            }
+            appendRaw(LINE_SEPARATOR);
+        }
+        List<Column<T>> columns = new ArrayList<>(fieldAccessors.size());
+        for (int i = 0; i < fieldAccessors.size(); i++) {
+            columns.add(compile(fieldAccessors.get(i), excelFields.get(i)));
+        }
+        while (data.hasNext()) {
+            T item = data.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    append(delimiter);
+                }
+                columns.get(i).append(item);
+            }
+            appendRaw(LINE_SEPARATOR);
+        }
+        return this;
+    }
+
+    public <T> CsvExporter write(Class<T> clazz, Iterable<T> data) throws IOException {
+        return write(clazz, data.iterator());
+    }
+
+    /**
+     * 流由调用方负责关闭
+     */
+    public <T> CsvExporter write(Class<T> clazz, Stream<T> data) throws IOException {
+        return write(clazz, data.iterator());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * 单列的格式化方式
+     */
+    private interface Column<T> {
+        void append(T item) throws IOException;
+    }
+
+    private <T> Column<T> compile(FieldAccessor<T> fieldAccessor, ExcelField excelField) {
+        Class<?> type = fieldAccessor.getField().getType();
+        ExcelField.CellType cellType = excelField.type();
+        boolean temporal = ExcelField.CellType.DATE.equals(cellType) || ExcelField.CellType.TIME.equals(cellType);
+        if (fieldAccessor.isPrimitiveNumber() && !temporal) {
+            if (double.class.equals(type) || float.class.equals(type)) {
+                if (ExcelField.CellType.NUMERIC.equals(cellType)) {
+                    return item -> appendRaw(NumberToTextConverter.toText(fieldAccessor.getDouble(item)));
+                }
+            } else {
+                return item -> appendLong(fieldAccessor.getLong(item));
+            }
+        }
+        Function<Object, String> formatter = formatter(fieldAccessor.getField().getName(), excelField);
+        return item -> {
+            Object value = fieldAccessor.get(item);
+            if (Objects.nonNull(value)) {
+                appendEscaped(formatter.apply(value));
+            }
+        };
+    }
+
+    private static Function<Object, String> formatter(String fieldName, ExcelField excelField) {
+        switch (excelField.type()) {
+            case NUMERIC:
+                return CsvExporter::formatNumber;
+            case DATE:
+                DateTimeFormatter formatter = datePattern(fieldName, excelField.datePattern());
+                return value -> formatDate(value, formatter);
+            case TIME:
+                return CsvExporter::formatTime;
+            default:
+                return Object::toString;
+        }
+    }
+
+    /**
+     * 按 excel 的规则转换日期格式
+     *
+     * @throws ExcelException 无法转换
+     */
+    private static DateTimeFormatter datePattern(String fieldName, String pattern) {
+        try {
+            return DateTimeFormatter.ofPattern(javaPattern(pattern));
+        } catch (IllegalArgumentException e) {
+            throw new ExcelException(String.format("Unsupported date pattern %s of field %s", pattern, fieldName), e);
+        }
+    }
+
+    /**
+     * 把 excel 的日期格式转换为 {@link DateTimeFormatter} 的格式。excel 的字母不区分大小写：
+     * m 紧跟在 h 之后或紧挨着 s 之前时表示分钟，否则表示月份；没有 AM/PM 时 h 表示24小时制；ddd、dddd 表示星期；
+     * 秒后面的 0 表示毫秒。引号、反斜杠转义的内容原样输出，方括号中的区域设置、颜色被忽略
+     */
+    private static String javaPattern(String pattern) {
+        String upper = pattern.toUpperCase();
+        boolean twelveHour = upper.contains("AM/PM") || upper.contains("A/P");
+        List<DateToken> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '"') {
+                int end = pattern.indexOf('"', i + 1);
+                end = end < 0 ? pattern.length() : end;
+                tokens.add(new DateToken(pattern.substring(i + 1, end)));
+                i = end + 1;
+            } else if (c == '\\' && i + 1 < pattern.length()) {
+                tokens.add(new DateToken(pattern.substring(i + 1, i + 2)));
+                i += 2;
+            } else if (c == '[') {
+                int end = pattern.indexOf(']', i + 1);
+                end = end < 0 ? pattern.length() : end;
+                String content = pattern.substring(i + 1, end);
+                // [h]、[mm]、[ss] 表示累计时长，按普通的时分秒处理
+                if (!content.isEmpty() && content.toLowerCase().matches("h+|m+|s+")) {
+                    tokens.add(new DateToken(Character.toLowerCase(content.charAt(0)), content.length()));
+                }
+                i = end + 1;
+            } else if (upper.startsWith("AM/PM", i)) {
+                tokens.add(new DateToken('a', 1));
+                i += 5;
+            } else if (upper.startsWith("A/P", i)) {
+                tokens.add(new DateToken('a', 1));
+                i += 3;
+            } else if (Character.isLetter(c) || (c == '0' && isSecondFraction(tokens))) {
+                int end = i + 1;
+                while (end < pattern.length() && Character.toLowerCase(pattern.charAt(end)) == Character.toLowerCase(c)) {
+                    end++;
+                }
+                tokens.add(new DateToken(c == '0' ? 'f' : Character.toLowerCase(c), end - i));
+                i = end;
+            } else {
+                tokens.add(new DateToken(String.valueOf(c)));
+                i++;
+            }
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 8);
+        for (int j = 0; j < tokens.size(); j++) {
+            DateToken token = tokens.get(j);
+            int count = token.count;
+            switch (token.letter) {
+                case 0:
+                    appendLiteral(builder, token.literal);
+                    break;
+                case 'y':
+                case 'e':
+                    repeat(builder, 'y', count <= 2 ? 2 : 4);
+                    break;
+                case 'd':
+                    if (count <= 2) {
+                        repeat(builder, 'd', count);
+                    } else {
+                        repeat(builder, 'E', count == 3 ? 3 : 4);
+                    }
+                    break;
+                case 'h':
+                    repeat(builder, twelveHour ? 'h' : 'H', Math.min(count, 2));
+                    break;
+                case 'm':
+                    if (letterAt(tokens, j, -1) == 'h' || letterAt(tokens, j, 1) == 's') {
+                        repeat(builder, 'm', Math.min(count, 2));
+                    } else {
+                        repeat(builder, 'M', Math.min(count, 5));
+                    }
+                    break;
+                case 's':
+                    repeat(builder, 's', Math.min(count, 2));
+                    break;
+                case 'f':
+                    repeat(builder, 'S', count);
+                    break;
+                case 'a':
+                    builder.append('a');
+                    break;
+                default:
+                    appendLiteral(builder, repeat(new StringBuilder(), token.letter, count));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 秒后面的小数点之后是毫秒
+     */
+    private static boolean isSecondFraction(List<DateToken> tokens) {
+        int size = tokens.size();
+        return size >= 2 && ".".equals(tokens.get(size - 1).literal) && tokens.get(size - 2).letter == 's';
+    }
+
+    /**
+     * @param direction -1 向前、1 向后查找，跳过分隔符等字面量
+     * @return 相邻的日期字母，没有时为 0
+     */
+    private static char letterAt(List<DateToken> tokens, int index, int direction) {
+        for (int i = index + direction; i >= 0 && i < tokens.size(); i += direction) {
+            if (tokens.get(i).letter != 0) {
+                return tokens.get(i).letter;
+            }
+        }
+        return 0;
+    }
+
+    private static StringBuilder repeat(StringBuilder builder, char c, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder;
+    }
+
+    private static void appendLiteral(StringBuilder builder, CharSequence literal) {
+        boolean plain = true;
+        for (int i = 0; i < literal.length() && plain; i++) {
+            plain = " -/:.,".indexOf(literal.charAt(i)) >= 0;
+        }
+        if (plain) {
+            builder.append(literal);
+        } else {
+            builder.append('\'').append(literal.toString().replace("'", "''")).append('\'');
+        }
+    }
+
+    /**
+     * 日期格式中的一段，字母及其重复次数，或者原样输出的字面量
+     */
+    private static final class DateToken {
+
+        /** 小写的格式字母，字面量为 0 */
+        private final char letter;
+
+        private final int count;
+
+        private final String literal;
+
+        DateToken(char letter, int count) {
+            this.letter = letter;
+            this.count = count;
+            this.literal = null;
+        }
+
+        DateToken(String literal) {
+            this.letter = 0;
+            this.count = 0;
+            this.literal = literal;
+        }
+    }
+
+    private static String formatNumber(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            return NumberToTextConverter.toText(NumberUtil.toDouble((Number) value));
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static String formatDate(Object value, DateTimeFormatter formatter) {
+        if (value instanceof Date) {
+            return formatter.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(((Date) value).getTime()), ZoneId.systemDefault()));
+        }
+        if (value instanceof LocalDate) {
+            return formatter.format(((LocalDate) value).atStartOfDay());
+        }
+        if (value instanceof Number) {
+            return formatter.format(DateTimeUtil.toLocalDateTime(NumberUtil.toDouble((Number) value)));
+        }
+        if (value instanceof TemporalAccessor) {
+            return formatter.format((TemporalAccessor) value);
+        }
+        if (value instanceof String) {
+            // 与 excel 相同，无法识别的日期输出为空
+            Double excelDate = DateTimeUtil.parseDateTime((String) value);
+            return Objects.isNull(excelDate) ? "" : formatter.format(DateTimeUtil.toLocalDateTime(excelDate));
+        }
+        return value.toString();
+    }
+
+    private static String formatTime(Object value) {
+        if (value instanceof Date) {
+            return DateTimeUtil.TIME_FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(((Date) value).getTime()), ZoneId.systemDefault()));
+        }
+        if (value instanceof Number) {
+            return DateTimeUtil.TIME_FORMATTER.format(DateTimeUtil.toLocalDateTime(NumberUtil.toDouble((Number) value)));
+        }
+        if (value instanceof TemporalAccessor) {
+            return DateTimeUtil.TIME_FORMATTER.format((TemporalAccessor) value);
+        }
+        if (value instanceof String) {
+            return DateTimeUtil.TIME_FORMATTER.format(DateTimeUtil.toLocalDateTime(DateTimeUtil.convertTime((String) value)));
+        }
+        return value.toString();
+    }
+
+    private void appendEscaped(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            appendRaw(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    private void appendLong(long value) throws IOException {
+        digits.setLength(0);
+        digits.append(value);
+        if (buffer.length - position < digits.length()) {
+            flushBuffer();
+            // 缓冲区比数字还小时直接写入
+            if (buffer.length < digits.length()) {
+                writer.append(digits);
+                return;
+            }
+        }
+        digits.getChars(0, digits.length(), buffer, position);
+        position += digits.length();
+    }
+
+    private void appendRaw(String value) throws IOException {
+        int length = value.length();
+        int offset = 0;
+        while (offset < length) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int count = Math.min(length - offset, buffer.length - position);
+            value.getChars(offset, offset + count, buffer, position);
+            position += count;
+            offset += count;
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.xinshepherd.excel.core.base;
+
+import io.github.xinshepherd.excel.core.ExcelException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * 逐行读取 CSV，按 {@link SheetRowHandler} 回调，与事件方式读取 xlsx 的 sheet 相同
+ *
+ * 字段直接在字符缓冲区中切分，引号内的双引号就地还原，只有被处理的列才会创建字符串。
+ * 缓冲区读完时把当前字段移到开头再继续读取，只有单个字段超过缓冲区时才扩容，内存占用与文件大小无关
+ *
+ * 支持 RFC 4180 的引号、转义引号和引号内的换行，换行可以是 CRLF、LF 或 CR，忽略开头的 BOM。
+ * 行号按记录计算，空行没有回调，但仍占用行号
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+final class CsvReader implements Closeable {
+
+    static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    private static final int DELIMITER = 0;
+
+    private static final int END_OF_LINE = 1;
+
+    private static final int END_OF_FILE = 2;
+
+    private final Reader reader;
+
+    private final char delimiter;
+
+    private final ImportCell cell = new ImportCell();
+
+    private char[] buffer;
+
+    /**
+     * 当前字段在缓冲区中的开始位置，读取更多内容时之前的内容会被丢弃
+     */
+    private int mark;
+
+    /**
+     * 当前字段的结束位置，引号内的转义引号会让它落后于 position
+     */
+    private int out;
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * 上一行以 CR 结束，下一个字符是 LF 时跳过
+     */
+    private boolean skipLineFeed;
+
+    private int rowIndex;
+
+    CsvReader(Reader reader, char delimiter) {
+        this(reader, delimiter, DEFAULT_BUFFER_SIZE);
+    }
+
+    CsvReader(Reader reader, char delimiter, int bufferSize) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.buffer = new char[bufferSize];
+    }
+
+    void read(SheetRowHandler handler) throws IOException {
+        if ((position < limit || fill()) && buffer[position] == '\uFEFF') {
+            position++;
+        }
+        int terminator = END_OF_LINE;
+        while (terminator != END_OF_FILE) {
+            boolean started = false;
+            int columnIndex = 0;
+            do {
+                terminator = readField();
+                if (out > mark) {
+                    if (!started) {
+                        handler.startRow(rowIndex);
+                        started = true;
+                    }
+                    if (handler.accepts(columnIndex)) {
+                        handler.cell(columnIndex, cell.string(new String(buffer, mark, out - mark)));
+                    }
+                }
+                columnIndex++;
+            } while (terminator == DELIMITER);
+            if (started) {
+                handler.endRow(rowIndex);
+            }
+            rowIndex++;
+        }
+    }
+
+    /**
+     * 读取一个字段，字段的内容为 buffer[mark, out)
+     *
+     * @return 字段后的分隔符、换行或文件结束
+     */
+    private int readField() throws IOException {
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if ((position < limit || fill()) && buffer[position] == '\n') {
+                position++;
+            }
+        }
+        mark = position;
+        out = position;
+        if (position == limit && !fill()) {
+            return END_OF_FILE;
+        }
+        if (buffer[position] != '"') {
+            while (true) {
+                if (position == limit && !fill()) {
+                    out = position;
+                    return END_OF_FILE;
+                }
+                char c = buffer[position];
+                if (c == delimiter || c == '\n' || c == '\r') {
+                    out = position++;
+                    return terminator(c);
+                }
+                position++;
+            }
+        }
+        mark = ++position;
+        out = position;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new ExcelException(String.format("Unclosed quote at row %d.", rowIndex));
+            }
+            char c = buffer[position++];
+            if (c != '"') {
+                buffer[out++] = c;
+                continue;
+            }
+            if (position == limit && !fill()) {
+                return END_OF_FILE;
+            }
+            c = buffer[position++];
+            if (c == '"') {
+                buffer[out++] = c;
+            } else if (c == delimiter || c == '\n' || c == '\r') {
+                return terminator(c);
+            } else {
+                throw new ExcelException(String.format("Unexpected character '%s' after the closing quote at row %d.", c, rowIndex));
+            }
+        }
+    }
+
+    private int terminator(char c) {
+        if (c == delimiter) {
+            return DELIMITER;
+        }
+        skipLineFeed = c == '\r';
+        return END_OF_LINE;
+    }
+
+    /**
+     * 保留当前字段，读取更多内容
+     *
+     * @return 是否读到了内容
+     */
+    private boolean fill() throws IOException {
+        if (mark > 0) {
+            System.arraycopy(buffer, mark, buffer, 0, limit - mark);
+            position -= mark;
+            out -= mark;
+            limit -= mark;
+            mark = 0;
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int count = reader.read(buffer, limit, buffer.length - limit);
+        if (count <= 0) {
+            return false;
+        }
+        limit += count;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.xinshepherd.excel.core.base;
 
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 /**
  * @author Fuxin
@@ -11,4 +14,19 @@ public class DefaultExporter extends ExporterBase {
     public DefaultExporter(Workbook workbook) {
         super(workbook);
     }
+
+    /**
+     * 根据预计的数据行数选择文件格式，xls 的单个sheet放不下时使用 xlsx，避免拆分成多个sheet
+     *
+     * @param estimatedRows 预计单个sheet的数据行数，不包括大标题和表头
+     * @return xls 或 xlsx 的导出器，可以通过 {@link Workbook#getSpreadsheetVersion()} 判断
+     * @since 1.4.1
+     */
+    public static DefaultExporter ofEstimatedRows(long estimatedRows) {
+        // 留出大标题和表头的位置
+        if (estimatedRows + 2 <= SpreadsheetVersion.EXCEL97.getMaxRows()) {
+            return new DefaultExporter(new HSSFWorkbook());
+        }
+        return new DefaultExporter(new XSSFWorkbook());
+    }
 }
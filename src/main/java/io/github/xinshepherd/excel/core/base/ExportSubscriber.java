@@ -0,0 +1,113 @@
+package io.github.xinshepherd.excel.core.base;
+
+import io.github.xinshepherd.excel.core.ExcelCancelledException;
+import io.github.xinshepherd.excel.core.ExcelSheetBuilder;
+import io.github.xinshepherd.excel.core.SheetCreator;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 以 Reactive Streams 的 {@link Subscriber} 订阅数据，每到达一行就写入sheet，每次最多请求 batchSize 行
+ *
+ * sheet页、大标题和表头在创建时就已写入，sheet的顺序与创建顺序一致。全部写入后 {@link #completion()} 完成，
+ * 之后才能输出 workbook。配合 {@link StreamingExporter} 使用时内存占用与数据量无关。
+ * 需要依赖 org.reactivestreams:reactive-streams
+ *
+ * <pre>
+ * ExportSubscriber&lt;Model&gt; subscriber = new ExportSubscriber&lt;&gt;(exporter, Model.class, "Sheet", 256);
+ * publisher.subscribe(subscriber);
+ * subscriber.completion().join();
+ * exporter.getWorkbook().write(out);
+ * </pre>
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public class ExportSubscriber<T> implements Subscriber<T> {
+
+    private final ExporterBase exporter;
+
+    private final Consumer<T> appender;
+
+    private final int batchSize;
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private Subscription subscription;
+
+    /**
+     * 当前批次还未到达的行数
+     */
+    private int outstanding;
+
+    public ExportSubscriber(ExporterBase exporter, Class<T> clazz, String sheetName, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        this.exporter = exporter;
+        this.appender = new SheetCreator<>(new ExcelSheetBuilder<>(clazz, Collections.<T>emptyIterator(), exporter.getWorkbook())
+                .sheetName(sheetName)
+                .stylePool(exporter.getStylePool())
+                .monitor(exporter.getMonitor())
+                .metrics(exporter.getMetrics())
+                .maxRows(exporter.getMaxRows())
+                .build()).openSheet();
+    }
+
+    /**
+     * @return 数据全部写入后完成，发布者出错或写入失败时以异常完成
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription not null");
+        if (this.subscription != null || completion.isDone()) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        outstanding = batchSize;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item, "item not null");
+        if (completion.isDone()) {
+            return;
+        }
+        try {
+            appender.accept(item);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            if (e instanceof ExcelCancelledException) {
+                exporter.release();
+            }
+            completion.completeExceptionally(e);
+            return;
+        }
+        if (--outstanding == 0) {
+            outstanding = batchSize;
+            subscription.request(batchSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(Objects.requireNonNull(throwable, "throwable not null"));
+    }
+
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+}
@@ -1,11 +1,27 @@
 package io.github.xinshepherd.excel.core.base;
 
+import io.github.xinshepherd.excel.core.ExcelCancelledException;
+import io.github.xinshepherd.excel.core.ExcelMetrics;
 import io.github.xinshepherd.excel.core.ExcelSheetBuilder;
 import io.github.xinshepherd.excel.core.ExcelSheetMetadata;
+import io.github.xinshepherd.excel.core.RowMonitor;
 import io.github.xinshepherd.excel.core.SheetCreator;
+import io.github.xinshepherd.excel.core.StylePool;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author Fuxin
@@ -13,10 +29,164 @@ import java.util.List;
  */
 public abstract class ExporterBase {
 
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
     private final Workbook workbook;
 
+    /**
+     * 所有sheet共用的样式池
+     */
+    private final StylePool stylePool;
+
+    /**
+     * 写出时的缓冲区大小
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * 进度、截止时间和取消，没有设置时为 null
+     */
+    private RowMonitor monitor;
+
+    /**
+     * 所有sheet共用的指标
+     */
+    private ExcelMetrics metrics = ExcelMetrics.NOOP;
+
+    /**
+     * 每个sheet最多的行数，小于等于0时使用文件格式的上限
+     */
+    private int maxRows;
+
     public ExporterBase(Workbook workbook) {
         this.workbook = workbook;
+        this.stylePool = new StylePool(workbook);
+    }
+
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public StylePool getStylePool() {
+        return stylePool;
+    }
+
+    /**
+     * 设置 writeTo 写出时的缓冲区大小，POI 写出时有大量的小块写入，直接写到文件或网络会很慢
+     *
+     * @param bufferSize 缓冲区字节数
+     * @since 1.4.1
+     */
+    public ExporterBase bufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * 设置导出的指标，对之后添加的sheet和 writeTo 生效
+     *
+     * @param metrics 指标
+     * @since 1.4.1
+     */
+    public ExporterBase metrics(ExcelMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics not null");
+        return this;
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public ExcelMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 设置进度回调、截止时间和取消，对之后添加的sheet生效，所有sheet共用。
+     * 中止时抛出 {@link ExcelCancelledException}，流式导出的临时文件会被删除，workbook 不能再写出
+     *
+     * @param monitor 进度、截止时间和取消
+     * @since 1.4.1
+     */
+    public ExporterBase monitor(RowMonitor monitor) {
+        this.monitor = monitor;
+        return this;
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public RowMonitor getMonitor() {
+        return monitor;
+    }
+
+    /**
+     * 设置每个sheet最多的行数(包括大标题和表头)，超出时写入 "名称 (2)"、"名称 (3)" 等新的sheet，对之后添加的sheet生效。
+     * 不能超过文件格式的上限，小于等于0时使用文件格式的上限
+     *
+     * @param maxRows 每个sheet最多的行数
+     * @see ExcelSheetBuilder#maxRows(int)
+     * @since 1.4.1
+     */
+    public ExporterBase maxRows(int maxRows) {
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * 经过缓冲写出 workbook，写完后 flush，不会关闭 out
+     *
+     * @param out 输出流
+     * @since 1.4.1
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        UnclosableOutputStream counting = new UnclosableOutputStream(out);
+        BufferedOutputStream buffered = new BufferedOutputStream(counting, bufferSize);
+        workbook.write(buffered);
+        buffered.flush();
+        metrics.time(ExcelMetrics.Phase.WRITE, System.nanoTime() - start);
+        metrics.count(ExcelMetrics.Counter.BYTES, counting.count);
+    }
+
+    /**
+     * 写出到文件，文件已存在时覆盖，写出失败时删除写了一部分的文件
+     *
+     * @param path 文件路径
+     * @since 1.4.1
+     */
+    public void writeTo(Path path) throws IOException {
+        boolean written = false;
+        try (OutputStream out = Files.newOutputStream(path)) {
+            writeTo(out);
+            written = true;
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * 写出到阻塞模式的通道，不会关闭通道
+     *
+     * @param channel 通道
+     * @since 1.4.1
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        writeTo(Channels.newOutputStream(channel));
     }
 
     public <T> ExporterBase appendSheet(Class<T> clazz, List<T> data) {
@@ -26,10 +196,118 @@ public abstract class ExporterBase {
     public <T> ExporterBase appendSheet(Class<T> clazz, List<T> data, String sheetName) {
         ExcelSheetMetadata<T> metadata = new ExcelSheetBuilder<>(clazz, data, workbook)
                 .sheetName(sheetName)
+                .stylePool(stylePool)
+                .monitor(monitor)
+                .metrics(metrics)
+                .maxRows(maxRows)
                 .build();
+        return appendSheet(metadata);
+    }
+
+    /**
+     * 逐行遍历数据并写入，写入后不再持有数据
+     *
+     * @see StreamingExporter
+     * @since 1.4.1
+     */
+    public <T> ExporterBase appendSheet(Class<T> clazz, Iterator<T> data) {
+        return this.appendSheet(clazz, data, null);
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public <T> ExporterBase appendSheet(Class<T> clazz, Iterator<T> data, String sheetName) {
+        ExcelSheetMetadata<T> metadata = new ExcelSheetBuilder<>(clazz, data, workbook)
+                .sheetName(sheetName)
+                .stylePool(stylePool)
+                .monitor(monitor)
+                .metrics(metrics)
+                .maxRows(maxRows)
+                .build();
+        return appendSheet(metadata);
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public <T> ExporterBase appendSheet(Class<T> clazz, Iterable<T> data) {
+        return this.appendSheet(clazz, data.iterator(), null);
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public <T> ExporterBase appendSheet(Class<T> clazz, Iterable<T> data, String sheetName) {
+        return this.appendSheet(clazz, data.iterator(), sheetName);
+    }
+
+    /**
+     * 流由调用方负责关闭
+     *
+     * @since 1.4.1
+     */
+    public <T> ExporterBase appendSheet(Class<T> clazz, Stream<T> data) {
+        return this.appendSheet(clazz, data.iterator(), null);
+    }
+
+    /**
+     * @since 1.4.1
+     */
+    public <T> ExporterBase appendSheet(Class<T> clazz, Stream<T> data, String sheetName) {
+        return this.appendSheet(clazz, data.iterator(), sheetName);
+    }
+
+    protected <T> ExporterBase appendSheet(ExcelSheetMetadata<T> metadata) {
         SheetCreator<T> sheetCreator = new SheetCreator<>(metadata);
-        sheetCreator.createSheet();
+        try {
+            sheetCreator.createSheet();
+        } catch (ExcelCancelledException e) {
+            release();
+            throw e;
+        }
         return this;
     }
 
+    /**
+     * 导出中止时释放 workbook 占用的资源，流式导出删除所有sheet的临时文件。workbook 仍需由调用方关闭
+     *
+     * @since 1.4.1
+     */
+    protected void release() {
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+    }
+
+    /**
+     * 关闭时只 flush，由调用方关闭底层的流。批量写入直接交给底层的流，不像 {@link FilterOutputStream} 那样逐个字节写入。
+     * 同时记录写出的字节数
+     */
+    private static class UnclosableOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        UnclosableOutputStream(OutputStream out) {
+            super(Objects.requireNonNull(out, "out not null"));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
 }
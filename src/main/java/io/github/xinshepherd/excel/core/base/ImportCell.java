@@ -0,0 +1,145 @@
+package io.github.xinshepherd.excel.core.base;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.util.Date;
+
+/**
+ * 导入时单元格的只读值
+ *
+ * 与具体的 excel 读取方式无关，DOM 方式 ({@link Cell}) 和事件方式 (SAX) 都会把单元格的值填充到这里，
+ * 再交给数据格式转换器处理。同一次解析中会被重复使用，转换器不要持有它的引用。
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public final class ImportCell {
+
+    private CellType cellType = CellType.BLANK;
+
+    private double numericValue;
+
+    private String stringValue;
+
+    private boolean booleanValue;
+
+    private boolean dateFormatted;
+
+    ImportCell numeric(double value, boolean dateFormatted) {
+        this.cellType = CellType.NUMERIC;
+        this.numericValue = value;
+        this.dateFormatted = dateFormatted;
+        this.stringValue = null;
+        return this;
+    }
+
+    ImportCell string(String value) {
+        this.cellType = CellType.STRING;
+        this.stringValue = value;
+        this.dateFormatted = false;
+        return this;
+    }
+
+    ImportCell bool(boolean value) {
+        this.cellType = CellType.BOOLEAN;
+        this.booleanValue = value;
+        this.dateFormatted = false;
+        this.stringValue = null;
+        return this;
+    }
+
+    ImportCell blank() {
+        this.cellType = CellType.BLANK;
+        this.dateFormatted = false;
+        this.stringValue = null;
+        return this;
+    }
+
+    /**
+     * 从 POI 的单元格读取值，公式单元格取其缓存的计算结果，不会修改原单元格
+     */
+    ImportCell of(Cell cell) {
+        CellType type = cell.getCellType();
+        if (CellType.FORMULA.equals(type)) {
+            type = cell.getCachedFormulaResultType();
+        }
+        switch (type) {
+            case NUMERIC:
+                return numeric(cell.getNumericCellValue(), DateUtil.isCellDateFormatted(cell));
+            case STRING:
+                return string(cell.getStringCellValue());
+            case BOOLEAN:
+                return bool(cell.getBooleanCellValue());
+            case _NONE:
+                this.cellType = CellType._NONE;
+                this.stringValue = null;
+                return this;
+            default:
+                return blank();
+        }
+    }
+
+    public CellType getCellType() {
+        return cellType;
+    }
+
+    /**
+     * @return 单元格是否设置了日期格式
+     */
+    public boolean isDateFormatted() {
+        return dateFormatted;
+    }
+
+    public double getNumericCellValue() {
+        if (CellType.NUMERIC.equals(cellType)) {
+            return numericValue;
+        }
+        if (CellType.BLANK.equals(cellType)) {
+            return 0.0;
+        }
+        throw new IllegalStateException("Cannot get a NUMERIC value from a " + cellType + " cell");
+    }
+
+    /**
+     * 以文本形式获取单元格的值，数字会按 excel 的显示规则转换成文本，空单元格返回空字符串
+     *
+     * @return 文本值
+     */
+    public String getStringCellValue() {
+        switch (cellType) {
+            case STRING:
+                return stringValue;
+            case NUMERIC:
+                return NumberToTextConverter.toText(numericValue);
+            case BOOLEAN:
+                return booleanValue ? "TRUE" : "FALSE";
+            default:
+                return "";
+        }
+    }
+
+    public boolean getBooleanCellValue() {
+        if (CellType.BOOLEAN.equals(cellType)) {
+            return booleanValue;
+        }
+        if (CellType.BLANK.equals(cellType)) {
+            return false;
+        }
+        throw new IllegalStateException("Cannot get a BOOLEAN value from a " + cellType + " cell");
+    }
+
+    public Date getDateCellValue() {
+        if (CellType.BLANK.equals(cellType)) {
+            return null;
+        }
+        return DateUtil.getJavaDate(getNumericCellValue());
+    }
+
+    @Override
+    public String toString() {
+        return getStringCellValue();
+    }
+}
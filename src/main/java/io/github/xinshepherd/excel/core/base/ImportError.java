@@ -0,0 +1,71 @@
+package io.github.xinshepherd.excel.core.base;
+
+/**
+ * 一个无法转换的单元格，行号和列号都从0开始
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ * @see ImportErrors
+ */
+public final class ImportError {
+
+    private final int sheetIndex;
+
+    private final int rowIndex;
+
+    private final int columnIndex;
+
+    private final String value;
+
+    private final String field;
+
+    private final Throwable cause;
+
+    ImportError(int sheetIndex, int rowIndex, int columnIndex, String value, String field, Throwable cause) {
+        this.sheetIndex = sheetIndex;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.value = value;
+        this.field = field;
+        this.cause = cause;
+    }
+
+    public int getSheetIndex() {
+        return sheetIndex;
+    }
+
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    /**
+     * @return 单元格的文本值
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return java类的字段名
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * @return 转换器或字段赋值抛出的异常
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Sheet %d row %d column %d: %s covert to %s error, %s",
+                sheetIndex, rowIndex, columnIndex, value, field, cause);
+    }
+}
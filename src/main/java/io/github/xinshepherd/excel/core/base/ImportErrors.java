@@ -0,0 +1,71 @@
+package io.github.xinshepherd.excel.core.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 宽松导入时收集的转换错误
+ *
+ * 通过 {@link ImporterBase#errors(ImportErrors)} 设置后，无法转换的单元格不再中止导入，而是记录在这里，
+ * 对应字段保持默认值，其余单元格和行照常解析。最多保存 maxErrors 个错误，超出的只计数。
+ * 多个sheet并行解析时共用一个实例，可以在多个线程中同时记录
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public final class ImportErrors {
+
+    private final int maxErrors;
+
+    private final List<ImportError> errors = new ArrayList<>();
+
+    private long count;
+
+    /**
+     * @param maxErrors 最多保存的错误数
+     */
+    public ImportErrors(int maxErrors) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative");
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    synchronized void add(ImportError error) {
+        count++;
+        if (errors.size() < maxErrors) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * @return 保存的错误，按发现的顺序排列，多个sheet并行解析时各sheet的错误交错排列
+     */
+    public synchronized List<ImportError> getErrors() {
+        return Collections.unmodifiableList(new ArrayList<>(errors));
+    }
+
+    /**
+     * @return 所有错误的数量，包括超出 maxErrors 未保存的
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return 是否有错误因为超出 maxErrors 而没有保存
+     */
+    public synchronized boolean isTruncated() {
+        return count > errors.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ImportErrors{count=" + count + ", errors=" + errors + '}';
+    }
+}
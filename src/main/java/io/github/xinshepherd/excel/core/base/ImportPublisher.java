@@ -0,0 +1,178 @@
+package io.github.xinshepherd.excel.core.base;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 以 Reactive Streams 的 {@link Publisher} 发布导入的数据，按订阅者的 request(n) 逐行解析
+ *
+ * 解析在 executor 的一个线程中进行，订阅者没有需求时该线程会阻塞等待，所以不要使用
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()} 等不允许阻塞的线程池。
+ * 配合 {@link ImporterBase#streaming(boolean)} 使用时内存占用与数据量无关。
+ *
+ * 输入流只能读取一次，所以只支持一个订阅者。需要依赖 org.reactivestreams:reactive-streams
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public class ImportPublisher<T> implements Publisher<T> {
+
+    private final ImporterBase importer;
+
+    private final Class<T> cls;
+
+    private final Executor executor;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    /**
+     * @param importer 配置好的导入器
+     * @param cls      java类
+     * @param executor 执行解析的线程池
+     */
+    public ImportPublisher(ImporterBase importer, Class<T> cls, Executor executor) {
+        this.importer = Objects.requireNonNull(importer, "importer not null");
+        this.cls = Objects.requireNonNull(cls, "cls not null");
+        this.executor = Objects.requireNonNull(executor, "executor not null");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber not null");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("ImportPublisher allows only a single subscriber"));
+            return;
+        }
+        RowSubscription subscription = new RowSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            executor.execute(subscription::run);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            subscriber.onError(e);
+        }
+    }
+
+    /**
+     * 解析线程在没有需求时阻塞，request、cancel 时唤醒
+     */
+    private class RowSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+
+        private long demand;
+
+        private boolean cancelled;
+
+        /**
+         * request(n) 的参数不合法时记录下来，由解析线程发出 onError
+         */
+        private Throwable error;
+
+        RowSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                error = new IllegalArgumentException("request must be positive, but was " + n);
+                cancelled = true;
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        void run() {
+            try {
+                importer.resolve(cls, this::emit);
+            } catch (Throwable e) {
+                Throwable failure = takeFailure(e);
+                if (failure != null) {
+                    subscriber.onError(failure);
+                }
+                return;
+            }
+            Throwable failure = takeFailure(null);
+            if (failure != null) {
+                subscriber.onError(failure);
+            } else if (!isCancelled()) {
+                subscriber.onComplete();
+            }
+        }
+
+        private void emit(T item) {
+            synchronized (this) {
+                while (demand == 0 && !cancelled) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        cancelled = true;
+                    }
+                }
+                if (cancelled) {
+                    throw new Cancelled();
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+            subscriber.onNext(item);
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return 需要发给订阅者的异常，订阅者已取消时返回 null
+         */
+        private synchronized Throwable takeFailure(Throwable e) {
+            if (error != null) {
+                return error;
+            }
+            return cancelled ? null : e;
+        }
+    }
+
+    /**
+     * 订阅取消后中止解析
+     */
+    private static class Cancelled extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Cancelled() {
+            super("cancelled", null, false, false);
+        }
+    }
+
+    private enum EmptySubscription implements Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -2,17 +2,28 @@ package io.github.xinshepherd.excel.core.base;
 
 import io.github.xinshepherd.excel.annotation.Excel;
 import io.github.xinshepherd.excel.annotation.ExcelField;
+import io.github.xinshepherd.excel.core.ExcelCancelledException;
 import io.github.xinshepherd.excel.core.ExcelException;
+import io.github.xinshepherd.excel.core.ExcelMetrics;
+import io.github.xinshepherd.excel.core.ModelDescriptor;
+import io.github.xinshepherd.excel.core.RowMonitor;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.annotation.Annotation;
+import java.io.InputStreamReader;
 import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 /**
  * 将excel表格导入解析成对应的java类
@@ -38,51 +49,11 @@ public class ImporterBase {
 
     public static final String CONTEXT_TYPE_XLS = "application/vnd.ms-excel";
     public static final String CONTEXT_TYPE_XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    public static final String CONTEXT_TYPE_CSV = "text/csv";
 
     private static final String FILE_NAME_SUFFIX_XLS = ".xls";
     private static final String FILE_NAME_SUFFIX_XLSX = ".xlsx";
-
-    protected static final Function<Cell, Object> CONVERT_INTEGER;
-    protected static final Function<Cell, Object> CONVERT_SHORT = cell -> (short) cell.getNumericCellValue();
-    protected static final Function<Cell, Object> CONVERT_LONG;
-    protected static final Function<Cell, Object> CONVERT_DOUBLE;
-    protected static final Function<Cell, Object> CONVERT_FLOAT = cell -> (float) cell.getNumericCellValue();
-    protected static final Function<Cell, Object> CONVERT_STRING;
-    protected static final Function<Cell, Object> CONVERT_DATE = Cell::getDateCellValue;
-
-    static {
-        CONVERT_INTEGER = cell -> {
-            if (CellType.NUMERIC.equals(cell.getCellType()) || CellType.FORMULA.equals(cell.getCellType())) {
-                return (int) cell.getNumericCellValue();
-            }
-            if (CellType.STRING.equals(cell.getCellType())) {
-                return Integer.parseInt(cell.getStringCellValue());
-            }
-            return 0;
-        };
-        CONVERT_LONG = cell -> {
-            if (CellType.NUMERIC.equals(cell.getCellType()) || CellType.FORMULA.equals(cell.getCellType())) {
-                return (long) cell.getNumericCellValue();
-            }
-            if (CellType.STRING.equals(cell.getCellType())) {
-                return Long.parseLong(cell.getStringCellValue());
-            }
-            return 0L;
-        };
-        CONVERT_DOUBLE = cell -> {
-            if (CellType.NUMERIC.equals(cell.getCellType()) || CellType.FORMULA.equals(cell.getCellType())) {
-                return cell.getNumericCellValue();
-            }
-            if (CellType.STRING.equals(cell.getCellType())) {
-                return Double.parseDouble(cell.getStringCellValue());
-            }
-            return 0.0;
-        };
-        CONVERT_STRING = cell -> {
-            cell.setCellType(CellType.STRING);
-            return cell.getStringCellValue();
-        };
-    }
+    private static final String FILE_NAME_SUFFIX_CSV = ".csv";
 
     /**
      * 映射类型，默认是按标题的
@@ -109,21 +80,51 @@ public class ImporterBase {
      */
     private int ignoreLastIndexes = 0;
 
+    /**
+     * 是否以事件方式解析文件，不构建整个 Workbook。xlsx 使用 SAX，内存占用只与当前行有关；
+     * xls 使用记录事件，只保留共享字符串表和数字格式
+     */
+    private boolean streaming = false;
+
+    /**
+     * csv 文件的字符集，默认 UTF-8
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * csv 文件的分隔符，默认逗号
+     */
+    private char delimiter = ',';
+
+    /**
+     * 导入的指标
+     */
+    private ExcelMetrics metrics = ExcelMetrics.NOOP;
+
+    /**
+     * 进度、截止时间和取消，没有设置时为 null
+     */
+    private RowMonitor monitor;
+
+    /**
+     * 宽松导入时收集转换错误，为 null 时遇到第一个无法转换的单元格就抛出异常
+     */
+    private ImportErrors errors;
+
     /**
      * 输入流
      */
     private final InputStream inputStream;
 
     /**
-     * key: excel表格的第几列 (从0开始)
-     * value: 对应的java类字段
+     * 通过 {@link #sheet(String, Class)}、{@link #sheet(int, Class)} 登记的需要解析的sheet
      */
-    private Map<Integer, Field> columnFieldMap = new HashMap<>();
+    private final List<SheetTarget> sheetTargets = new ArrayList<>();
 
     /**
-     * 数据格式转换器MAP
+     * 通过 {@link #converter(Class, CellConverter)} 登记的转换器，key: 字段类型
      */
-    private Map<Field, Function<Cell, Object>> dataConvertMap = new HashMap<>();
+    private final Map<Class<?>, CellConverter<?>> converters = new HashMap<>();
 
 
     public static ImporterBase newInstance(InputStream inputStream) {
@@ -162,145 +163,508 @@ public class ImporterBase {
         return this;
     }
 
+    public ImporterBase streaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * @param charset csv 文件的字符集
+     * @since 1.4.1
+     */
+    public ImporterBase charset(Charset charset) {
+        this.charset = Objects.requireNonNull(charset);
+        return this;
+    }
+
+    /**
+     * @param delimiter csv 文件的分隔符
+     * @since 1.4.1
+     */
+    public ImporterBase delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * @param metrics 导入的指标
+     * @since 1.4.1
+     */
+    public ImporterBase metrics(ExcelMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+        return this;
+    }
+
+    /**
+     * 设置进度回调、截止时间和取消，所有sheet共用。中止时抛出 {@link ExcelCancelledException}，打开的文件会被关闭
+     *
+     * @param monitor 进度、截止时间和取消
+     * @since 1.4.1
+     */
+    public ImporterBase monitor(RowMonitor monitor) {
+        this.monitor = monitor;
+        return this;
+    }
+
+    /**
+     * 宽松导入，无法转换的单元格记录到 errors 后跳过，字段保持默认值，继续解析剩余的单元格和行。
+     * 解析结束后检查 errors 即可得到全部问题，不需要反复上传
+     *
+     * @param errors 收集转换错误，所有sheet共用
+     * @since 1.4.1
+     */
+    public ImporterBase errors(ImportErrors errors) {
+        this.errors = errors;
+        return this;
+    }
+
+    /**
+     * 登记字段类型的转换器，优先于内置的转换。基本类型和包装类型需要分别登记
+     *
+     * @param type      字段类型
+     * @param converter 转换器
+     * @since 1.4.1
+     */
+    public <T> ImporterBase converter(Class<T> type, CellConverter<? extends T> converter) {
+        converters.put(Objects.requireNonNull(type), Objects.requireNonNull(converter));
+        return this;
+    }
+
+    /**
+     * 登记一个需要解析的sheet，配合 {@link #resolveSheets()} 使用，同一个sheet只能登记一次
+     *
+     * @param sheetName sheet名称
+     * @param cls       对应的java类
+     * @since 1.4.1
+     */
+    public ImporterBase sheet(String sheetName, Class<?> cls) {
+        Objects.requireNonNull(sheetName);
+        for (SheetTarget target : sheetTargets) {
+            if (sheetName.equals(target.name)) {
+                throw new IllegalArgumentException(String.format("Sheet %s is already registered", sheetName));
+            }
+        }
+        sheetTargets.add(new SheetTarget(sheetName, -1, cls));
+        return this;
+    }
+
+    /**
+     * 登记一个需要解析的sheet，配合 {@link #resolveSheets()} 使用，同一个sheet只能登记一次
+     *
+     * @param sheetIndex sheet序号，0起始
+     * @param cls        对应的java类
+     * @since 1.4.1
+     */
+    public ImporterBase sheet(int sheetIndex, Class<?> cls) {
+        for (SheetTarget target : sheetTargets) {
+            if (target.name == null && target.index == sheetIndex) {
+                throw new IllegalArgumentException(String.format("Sheet %d is already registered", sheetIndex));
+            }
+        }
+        sheetTargets.add(new SheetTarget(null, sheetIndex, cls));
+        return this;
+    }
+
     public <T> List<T> resolve(Class<T> cls) throws Exception {
-        Annotation annotation = cls.getAnnotation(Excel.class);
+        List<T> list = new ArrayList<>();
+        resolve(cls, list::add);
+        return list;
+    }
+
+    /**
+     * 分批解析，每解析出 batchSize 行就回调一次，最后一批可能不足 batchSize 行。
+     * 配合 {@link #streaming(boolean)} 使用时内存中最多只有一批数据
+     *
+     * 回调的列表会被复用，回调返回后就会被清空，需要保留数据时请复制
+     *
+     * @param cls       java类
+     * @param batchSize 每批的行数
+     * @param consumer  处理一批数据
+     * @since 1.4.1
+     */
+    public <T> void resolve(Class<T> cls, int batchSize, Consumer<List<T>> consumer) throws Exception {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        Objects.requireNonNull(consumer, "consumer not null");
+        BatchConsumer<T> batchConsumer = new BatchConsumer<>(batchSize, consumer);
+        resolve(cls, batchConsumer);
+        batchConsumer.flush();
+    }
+
+    /**
+     * 逐行解析，每解析出一行就交给 consumer
+     */
+    <T> void resolve(Class<T> cls, Consumer<? super T> consumer) throws Exception {
+        checkAnnotation(cls);
+        if (Objects.nonNull(monitor)) {
+            monitor.check();
+        }
+        if (isCsv()) {
+            resolveCsv(cls, consumer);
+            return;
+        }
+        if (streaming && isXlsx()) {
+            resolveByEvent(cls, consumer);
+            return;
+        }
+        if (streaming && isXls()) {
+            resolveXlsByEvent(cls, consumer);
+            return;
+        }
+        try (Workbook workbook = openWorkbook()) {
+            // 暂时只处理第一个sheet
+            resolve(workbook.getSheetAt(0), cls, consumer);
+        }
+    }
+
+    /**
+     * 使用 {@link ForkJoinPool#commonPool()} 解析所有登记的sheet
+     *
+     * @see #resolveSheets(Executor)
+     * @since 1.4.1
+     */
+    public SheetResults resolveSheets() throws Exception {
+        return resolveSheets(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 只打开一次文件，解析所有通过 {@link #sheet(String, Class)}、{@link #sheet(int, Class)} 登记的sheet。
+     * 标题行、忽略行数等设置对每个sheet都生效
+     *
+     * xlsx 文件以事件方式解析，共享字符串和样式只加载一次，每个sheet在 executor 中并行解析；
+     * xls 文件以记录事件解析，记录流只能顺序读取，所有sheet在当前线程中一次读完。
+     * 两者都不受 {@link #streaming(boolean)} 影响，总是以事件方式解析。csv 文件没有多个sheet，请使用 resolve 解析
+     *
+     * @param executor 解析sheet的线程池
+     * @return 每个sheet的解析结果
+     * @since 1.4.1
+     */
+    public SheetResults resolveSheets(Executor executor) throws Exception {
+        if (sheetTargets.isEmpty()) {
+            throw new ExcelException("No sheet to resolve.");
+        }
+        if (isCsv()) {
+            throw new ExcelException("Csv file has no sheets, use resolve instead.");
+        }
+        for (SheetTarget target : sheetTargets) {
+            checkAnnotation(target.cls);
+        }
+        if (Objects.nonNull(monitor)) {
+            monitor.check();
+        }
+        SheetResults results = new SheetResults();
+        if (isXlsx()) {
+            try (XlsxEventReader reader = openEventReader()) {
+                // 先确定所有sheet都存在，再开始解析
+                int[] sheetIndexes = findSheets(reader::getSheetIndex, reader.getNumberOfSheets());
+                List<CompletableFuture<Void>> futures = new ArrayList<>(sheetIndexes.length);
+                for (int i = 0; i < sheetIndexes.length; i++) {
+                    SheetTarget target = sheetTargets.get(i);
+                    int sheetIndex = sheetIndexes[i];
+                    List<Object> list = results.add(sheetIndex, reader.getSheetName(sheetIndex), target.cls);
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            readByEvent(reader, sheetIndex, newRowMapper(sheetIndex, target.cls, list::add));
+                        } catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    }, executor));
+                }
+                await(futures);
+            }
+        } else if (isXls()) {
+            try (XlsEventReader reader = openXlsEventReader()) {
+                int[] sheetIndexes = findSheets(reader::getSheetIndex, reader.getNumberOfSheets());
+                Map<Integer, List<SheetRowHandler>> handlers = new HashMap<>();
+                List<RowMapper<?>> rowMappers = new ArrayList<>(sheetIndexes.length);
+                for (int i = 0; i < sheetIndexes.length; i++) {
+                    SheetTarget target = sheetTargets.get(i);
+                    int sheetIndex = sheetIndexes[i];
+                    List<Object> list = results.add(sheetIndex, reader.getSheetName(sheetIndex), target.cls);
+                    RowMapper<?> rowMapper = newRowMapper(sheetIndex, target.cls, list::add);
+                    handlers.computeIfAbsent(sheetIndex, key -> new ArrayList<>()).add(rowMapper);
+                    rowMappers.add(rowMapper);
+                }
+                readByEvent(reader, handlers, rowMappers);
+            }
+        } else {
+            try (Workbook workbook = openWorkbook()) {
+                int[] sheetIndexes = findSheets(workbook::getSheetIndex, workbook.getNumberOfSheets());
+                for (int i = 0; i < sheetIndexes.length; i++) {
+                    SheetTarget target = sheetTargets.get(i);
+                    int sheetIndex = sheetIndexes[i];
+                    List<Object> list = results.add(sheetIndex, workbook.getSheetName(sheetIndex), target.cls);
+                    resolve(workbook.getSheetAt(sheetIndex), target.cls, list::add);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 按登记的顺序查找sheet序号，任意一个不存在，或者按名称和序号登记了同一个sheet时抛出异常
+     */
+    private int[] findSheets(ToIntFunction<String> indexOf, int numberOfSheets) {
+        int[] sheetIndexes = new int[sheetTargets.size()];
+        for (int i = 0; i < sheetIndexes.length; i++) {
+            SheetTarget target = sheetTargets.get(i);
+            sheetIndexes[i] = target.name != null ? indexOf.applyAsInt(target.name) : target.index;
+            if (sheetIndexes[i] < 0 || sheetIndexes[i] >= numberOfSheets) {
+                throw new ExcelException(String.format("Sheet %s not found.", target));
+            }
+            for (int j = 0; j < i; j++) {
+                if (sheetIndexes[j] == sheetIndexes[i]) {
+                    throw new ExcelException(String.format("Sheet %s and %s are the same sheet.", sheetTargets.get(j), target));
+                }
+            }
+        }
+        return sheetIndexes;
+    }
+
+    /**
+     * 等待所有sheet解析完成，任意一个失败时抛出其异常
+     */
+    private static void await(List<CompletableFuture<Void>> futures) throws Exception {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void checkAnnotation(Class<?> cls) {
+        Excel annotation = ModelDescriptor.of(cls).getExcel();
         if (annotation == null) {
             throw new ExcelException(cls.getName() + " not annotation " + Excel.class.getName());
         }
-        Workbook workbook;
+    }
+
+    /**
+     * 打开文件，记录 {@link ExcelMetrics.Phase#WORKBOOK_OPEN} 的耗时
+     */
+    private Workbook openWorkbook() throws IOException {
+        long start = System.nanoTime();
+        Workbook workbook = newWorkbook();
+        metrics.time(ExcelMetrics.Phase.WORKBOOK_OPEN, System.nanoTime() - start);
+        return workbook;
+    }
+
+    private XlsxEventReader openEventReader() throws Exception {
+        long start = System.nanoTime();
+        XlsxEventReader reader = XlsxEventReader.open(inputStream);
+        metrics.time(ExcelMetrics.Phase.WORKBOOK_OPEN, System.nanoTime() - start);
+        return reader;
+    }
+
+    private XlsEventReader openXlsEventReader() throws IOException {
+        long start = System.nanoTime();
+        XlsEventReader reader = XlsEventReader.open(inputStream);
+        metrics.time(ExcelMetrics.Phase.WORKBOOK_OPEN, System.nanoTime() - start);
+        return reader;
+    }
+
+    private Workbook newWorkbook() throws IOException {
         if (contextType != null && !"".equals(contextType)) {
-            workbook = newWorkbookByContextType(inputStream, contextType);
+            return newWorkbookByContextType(inputStream, contextType);
         } else if (filename != null && !"".equals(filename)) {
-            workbook = newWorkbookByFilename(inputStream, filename);
+            return newWorkbookByFilename(inputStream, filename);
         } else {
-            workbook = newWorkbookByContextType(inputStream, CONTEXT_TYPE_XLSX);
+            return newWorkbookByContextType(inputStream, CONTEXT_TYPE_XLSX);
         }
-        initData(workbook, cls);
-        return resolve(workbook, cls);
     }
 
-    private <T> List<T> resolve(Workbook workbook, Class<T> cls) throws Exception {
-        try {
-            List<T> list = new ArrayList<>();
-            // 暂时只处理第一个sheet
-            Sheet sheet = workbook.getSheetAt(0);
-
-            // 从标题行的下一行开始解析，并忽略掉最后几行需要忽略的
-            int start = titleRowIndex + 1;
-            int end = sheet.getPhysicalNumberOfRows() - ignoreLastIndexes;
-
-            // 获取列数量
-            int cellNumber = sheet.getRow(titleRowIndex).getPhysicalNumberOfCells();
-            Row row;
-            for (int i = start; i < end; i++) {
-                T t = cls.newInstance();
-                row = sheet.getRow(i);
-                for (int j = 0; j < cellNumber; j++) {
-                    Field field = columnFieldMap.get(j);
-                    if (field != null && row.getCell(j) != null) {
-                        writeValue(t, field, row.getCell(j));
+    private <T> void resolve(Sheet sheet, Class<T> cls, Consumer<? super T> consumer) throws Exception {
+        long begin = System.nanoTime();
+        ColumnMapping mapping = initData(sheet, cls);
+        metrics.time(ExcelMetrics.Phase.HEADER_MATCH, System.nanoTime() - begin);
+        begin = System.nanoTime();
+
+        // 从标题行的下一行开始解析，并忽略掉最后几行需要忽略的
+        int start = titleRowIndex + 1;
+        int end = sheet.getPhysicalNumberOfRows() - ignoreLastIndexes;
+
+        // 获取列数量
+        int cellNumber = sheet.getRow(titleRowIndex).getPhysicalNumberOfCells();
+        Row row;
+        ImportCell importCell = new ImportCell();
+        for (int i = start; i < end; i++) {
+            T t = cls.newInstance();
+            row = sheet.getRow(i);
+            for (int j = 0; j < cellNumber; j++) {
+                Cell cell = row.getCell(j);
+                if (cell != null && mapping.contains(j)) {
+                    ImportError error = mapping.write(t, i, j, importCell.of(cell));
+                    if (error != null) {
+                        reject(error);
                     }
                 }
-                list.add(t);
             }
-            return list;
-        } finally {
-            workbook.close();
+            consumer.accept(t);
+            if (Objects.nonNull(monitor)) {
+                monitor.row();
+            }
         }
+        metrics.time(ExcelMetrics.Phase.ROW_CONVERSION, System.nanoTime() - begin);
+        metrics.count(ExcelMetrics.Counter.ROWS, Math.max(end - start, 0));
+        metrics.count(ExcelMetrics.Counter.CELLS, mapping.cells);
     }
 
-    private <T> void writeValue(T t, Field field, Cell cell) {
-        if (CellType._NONE.equals(cell.getCellType())) {
-            return;
+    /**
+     * 以事件方式解析第一个sheet，每解析完一行就交给 consumer，最后 ignoreLastIndexes 行会被丢弃
+     */
+    private <T> void resolveByEvent(Class<T> cls, Consumer<? super T> consumer) throws Exception {
+        RowMapper<T> rowMapper = newRowMapper(0, cls, consumer);
+        try (XlsxEventReader reader = openEventReader()) {
+            readByEvent(reader, 0, rowMapper);
         }
-        try {
-            field.set(t, dataConvertMap.get(field).apply(cell));
-        } catch (Exception e) {
-            throw new ExcelException(String.format("%s covert to %s error.", cell.getStringCellValue(), field.getName()));
+    }
+
+    private void readByEvent(XlsxEventReader reader, int sheetIndex, RowMapper<?> rowMapper) throws Exception {
+        long start = System.nanoTime();
+        reader.read(sheetIndex, rowMapper);
+        rowMapper.report(System.nanoTime() - start);
+    }
+
+    /**
+     * 以记录事件解析 xls 文件的第一个sheet，每解析完一行就交给 consumer，最后 ignoreLastIndexes 行会被丢弃
+     */
+    private <T> void resolveXlsByEvent(Class<T> cls, Consumer<? super T> consumer) throws Exception {
+        RowMapper<T> rowMapper = newRowMapper(0, cls, consumer);
+        try (XlsEventReader reader = openXlsEventReader()) {
+            readByEvent(reader, Collections.singletonMap(0, Collections.singletonList(rowMapper)),
+                    Collections.singletonList(rowMapper));
+        }
+    }
+
+    /**
+     * 多个sheet在同一次遍历中读取，耗时按sheet平均分摊
+     */
+    private void readByEvent(XlsEventReader reader, Map<Integer, List<SheetRowHandler>> handlers,
+                             List<RowMapper<?>> rowMappers) throws IOException {
+        long start = System.nanoTime();
+        reader.read(handlers);
+        long nanos = (System.nanoTime() - start) / rowMappers.size();
+        for (RowMapper<?> rowMapper : rowMappers) {
+            rowMapper.report(nanos);
+        }
+    }
+
+    /**
+     * csv 文件总是逐行解析，不受 {@link #streaming(boolean)} 影响
+     */
+    private <T> void resolveCsv(Class<T> cls, Consumer<? super T> consumer) throws Exception {
+        RowMapper<T> rowMapper = newRowMapper(0, cls, consumer);
+        try (CsvReader reader = new CsvReader(new InputStreamReader(inputStream, charset), delimiter)) {
+            long start = System.nanoTime();
+            reader.read(rowMapper);
+            rowMapper.report(System.nanoTime() - start);
+        }
+    }
+
+    private <T> RowMapper<T> newRowMapper(int sheetIndex, Class<T> cls, Consumer<? super T> consumer) {
+        if (MATCH_TYPE_POSITION.equals(matchType)) {
+            long start = System.nanoTime();
+            ColumnMapping mapping = new ColumnMapping(sheetIndex, initColumnFieldMap(cls));
+            metrics.time(ExcelMetrics.Phase.HEADER_MATCH, System.nanoTime() - start);
+            return new RowMapper<>(sheetIndex, cls, mapping, consumer);
+        } else if (MATCH_TYPE_TITLE.equals(matchType)) {
+            return new RowMapper<>(sheetIndex, cls, null, consumer);
         }
+        throw new ExcelException("Not support " + matchType);
     }
 
+    private boolean isXlsx() {
+        if (contextType != null && !"".equals(contextType)) {
+            return CONTEXT_TYPE_XLSX.equalsIgnoreCase(contextType);
+        }
+        if (filename != null && !"".equals(filename)) {
+            return filename.toLowerCase().endsWith(FILE_NAME_SUFFIX_XLSX);
+        }
+        return true;
+    }
+
+    private boolean isXls() {
+        if (contextType != null && !"".equals(contextType)) {
+            return CONTEXT_TYPE_XLS.equalsIgnoreCase(contextType);
+        }
+        return filename != null && filename.toLowerCase().endsWith(FILE_NAME_SUFFIX_XLS);
+    }
+
+    private boolean isCsv() {
+        if (contextType != null && !"".equals(contextType)) {
+            return CONTEXT_TYPE_CSV.equalsIgnoreCase(contextType);
+        }
+        return filename != null && filename.toLowerCase().endsWith(FILE_NAME_SUFFIX_CSV);
+    }
 
-    private <T> void initData(Workbook workbook, Class<T> cls) {
-        // 暂时只处理第一个sheet
-        Sheet sheet = workbook.getSheetAt(0);
+    /**
+     * 严格模式下抛出异常，宽松模式下记录后继续
+     */
+    private void reject(ImportError error) {
+        if (errors == null) {
+            throw new ExcelException(String.format("%s covert to %s error.", error.getValue(), error.getField()),
+                    error.getCause());
+        }
+        errors.add(error);
+    }
+
+    private <T> ColumnMapping initData(Sheet sheet, Class<T> cls) {
+        int sheetIndex = sheet.getWorkbook().getSheetIndex(sheet);
         if (MATCH_TYPE_TITLE.equals(matchType)) {
             // 获取标题行
             Row titleRow = sheet.getRow(this.titleRowIndex);
-            initColumnFieldMap(titleRow, cls);
+            return new ColumnMapping(sheetIndex, initColumnFieldMap(titleRow, cls));
         } else if (MATCH_TYPE_POSITION.equals(matchType)) {
-            initColumnFieldMap(cls);
+            return new ColumnMapping(sheetIndex, initColumnFieldMap(cls));
         } else {
             throw new ExcelException("Not support " + matchType);
         }
-        initDateCovertMap();
     }
 
-    private <T> void initColumnFieldMap(Row row, Class<T> cls) {
+    private <T> Map<Integer, Field> initColumnFieldMap(Row row, Class<T> cls) {
         int size = row.getPhysicalNumberOfCells();
-        columnFieldMap = new HashMap<>(size);
         Map<String, Integer> indexMap = new HashMap<>(size);
         for (int i = 0; i < size; i++) {
             indexMap.put(row.getCell(i).getStringCellValue(), i);
         }
-        for (Field field : cls.getDeclaredFields()) {
-            ExcelField excelField = field.getDeclaredAnnotation(ExcelField.class);
-            if (excelField != null) {
-                String value = excelField.value();
-                if (indexMap.containsKey(value)) {
-                    field.setAccessible(true);
-                    columnFieldMap.put(indexMap.get(value), field);
-                }
-            }
-        }
-
+        return initColumnFieldMap(indexMap, cls);
     }
 
-    private <T> void initColumnFieldMap(Class<T> cls) {
-        columnFieldMap = new HashMap<>(16);
-        for (Field field : cls.getDeclaredFields()) {
-            ExcelField excelField = field.getDeclaredAnnotation(ExcelField.class);
-            if (excelField != null) {
-                field.setAccessible(true);
-                columnFieldMap.put(excelField.position(), field);
+    /**
+     * @param indexMap key: 列标题, value: 列号
+     */
+    private <T> Map<Integer, Field> initColumnFieldMap(Map<String, Integer> indexMap, Class<T> cls) {
+        Map<Integer, Field> columnFieldMap = new HashMap<>(indexMap.size());
+        ModelDescriptor<T> descriptor = ModelDescriptor.of(cls);
+        List<Field> excelFields = descriptor.getExcelFields();
+        for (int i = 0; i < excelFields.size(); i++) {
+            String value = descriptor.getExcelFieldAnnotations().get(i).value();
+            if (indexMap.containsKey(value)) {
+                columnFieldMap.put(indexMap.get(value), excelFields.get(i));
             }
         }
+        return columnFieldMap;
     }
 
-    private void initDateCovertMap() {
-        dataConvertMap = new HashMap<>(columnFieldMap.size());
-        for (Field field : columnFieldMap.values()) {
-            dataConvertMap.put(field, dataCovert(field));
+    private <T> Map<Integer, Field> initColumnFieldMap(Class<T> cls) {
+        Map<Integer, Field> columnFieldMap = new HashMap<>(16);
+        ModelDescriptor<T> descriptor = ModelDescriptor.of(cls);
+        List<Field> excelFields = descriptor.getExcelFields();
+        for (int i = 0; i < excelFields.size(); i++) {
+            columnFieldMap.put(descriptor.getExcelFieldAnnotations().get(i).position(), excelFields.get(i));
         }
+        return columnFieldMap;
     }
 
 
-    protected Function<Cell, Object> dataCovert(Field field) {
-        Class<?> cls = field.getType();
-        if (cls.equals(String.class)) {
-            return CONVERT_STRING;
-        }
-        if (cls.equals(int.class) || cls.equals(Integer.class)) {
-            return CONVERT_INTEGER;
-        }
-        if (cls.equals(long.class) || cls.equals(Long.class)) {
-            return CONVERT_LONG;
-        }
-        if (cls.equals(short.class) || cls.equals(Short.class)) {
-            return CONVERT_SHORT;
-        }
-        if (cls.equals(double.class) || cls.equals(Double.class)) {
-            return CONVERT_DOUBLE;
-        }
-        if (cls.equals(float.class) || cls.equals(Float.class)) {
-            return CONVERT_FLOAT;
-        }
-        if (cls.equals(Date.class)) {
-            return CONVERT_DATE;
-        }
-        throw new ExcelException(String.format("Not support %s for now.", cls.getName()));
-    }
-
     private static Workbook newWorkbookByFilename(InputStream in, String filename) throws IOException {
         String suffix = filename.contains(".") ? filename.substring(filename.lastIndexOf('.')) : "";
         if (FILE_NAME_SUFFIX_XLS.equalsIgnoreCase(suffix)) {
@@ -322,4 +686,235 @@ public class ImporterBase {
         }
     }
 
+    /**
+     * 把事件方式读到的行映射为java对象，标题行用于初始化列映射
+     */
+    private class RowMapper<T> implements SheetRowHandler {
+
+        private final Class<T> cls;
+
+        private final Consumer<? super T> consumer;
+
+        /**
+         * 按位置匹配时预先创建，按标题匹配时读到标题行后创建
+         */
+        private ColumnMapping mapping;
+
+        /**
+         * 暂存最后 ignoreLastIndexes 行，读完整个sheet后丢弃
+         */
+        private final Deque<T> pending = new ArrayDeque<>();
+
+        /**
+         * 转换失败的暂存行及其错误，只有真正交给 consumer 时才抛出或记录，被忽略的最后几行不影响解析
+         */
+        private final Map<T, List<ImportError>> failures = new IdentityHashMap<>();
+
+        private final int sheetIndex;
+
+        private int rowIndex;
+
+        private Map<String, Integer> titleIndexMap;
+
+        private T current;
+
+        /**
+         * 交给 consumer 的行数
+         */
+        private long rows;
+
+        RowMapper(int sheetIndex, Class<T> cls, ColumnMapping mapping, Consumer<? super T> consumer) {
+            this.sheetIndex = sheetIndex;
+            this.cls = cls;
+            this.mapping = mapping;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowIndex) {
+            this.rowIndex = rowIndex;
+            if (rowIndex == titleRowIndex && MATCH_TYPE_TITLE.equals(matchType)) {
+                titleIndexMap = new HashMap<>();
+            } else if (rowIndex > titleRowIndex) {
+                try {
+                    current = cls.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new ExcelException(e);
+                }
+            }
+        }
+
+        @Override
+        public void cell(int columnIndex, ImportCell cell) {
+            if (titleIndexMap != null) {
+                titleIndexMap.put(cell.getStringCellValue(), columnIndex);
+            } else if (current != null && mapping != null) {
+                ImportError error = mapping.write(current, rowIndex, columnIndex, cell);
+                if (error == null) {
+                    return;
+                }
+                if (ignoreLastIndexes == 0) {
+                    reject(error);
+                } else {
+                    failures.computeIfAbsent(current, key -> new ArrayList<>(1)).add(error);
+                }
+            }
+        }
+
+        @Override
+        public boolean accepts(int columnIndex) {
+            return titleIndexMap != null || (current != null && mapping != null && mapping.contains(columnIndex));
+        }
+
+        @Override
+        public void endRow(int rowIndex) {
+            if (titleIndexMap != null) {
+                long start = System.nanoTime();
+                mapping = new ColumnMapping(sheetIndex, initColumnFieldMap(titleIndexMap, cls));
+                titleIndexMap = null;
+                metrics.time(ExcelMetrics.Phase.HEADER_MATCH, System.nanoTime() - start);
+            } else if (current != null) {
+                pending.addLast(current);
+                current = null;
+                if (pending.size() > ignoreLastIndexes) {
+                    T t = pending.removeFirst();
+                    if (!failures.isEmpty() && failures.containsKey(t)) {
+                        failures.remove(t).forEach(ImporterBase.this::reject);
+                    }
+                    consumer.accept(t);
+                    rows++;
+                    if (Objects.nonNull(monitor)) {
+                        monitor.row();
+                    }
+                }
+            }
+        }
+
+        /**
+         * 读完整个sheet后记录指标
+         *
+         * @param nanos 读取和转换的耗时
+         */
+        void report(long nanos) {
+            metrics.time(ExcelMetrics.Phase.ROW_CONVERSION, nanos);
+            metrics.count(ExcelMetrics.Counter.ROWS, rows);
+            metrics.count(ExcelMetrics.Counter.CELLS, mapping == null ? 0 : mapping.cells);
+        }
+    }
+
+    /**
+     * 一个sheet的列映射，每个sheet单独创建，多个sheet并行解析时互不影响
+     */
+    private class ColumnMapping {
+
+        /**
+         * 下标: excel表格的第几列 (从0开始)，没有对应字段的列为 null
+         */
+        private final ColumnReader[] readers;
+
+        /**
+         * 写入字段的单元格数量
+         */
+        private long cells;
+
+        private final int sheetIndex;
+
+        /**
+         * @param columnFieldMap key: excel表格的第几列, value: 对应的java类字段
+         */
+        ColumnMapping(int sheetIndex, Map<Integer, Field> columnFieldMap) {
+            this.sheetIndex = sheetIndex;
+            int size = 0;
+            for (Integer columnIndex : columnFieldMap.keySet()) {
+                size = Math.max(size, columnIndex + 1);
+            }
+            this.readers = new ColumnReader[size];
+            for (Map.Entry<Integer, Field> entry : columnFieldMap.entrySet()) {
+                // 按位置匹配时没有设置 position 的字段为 -1
+                if (entry.getKey() >= 0) {
+                    Field field = entry.getValue();
+                    readers[entry.getKey()] = ColumnReader.of(field, converters.get(field.getType()));
+                }
+            }
+        }
+
+        boolean contains(int columnIndex) {
+            return columnIndex < readers.length && readers[columnIndex] != null;
+        }
+
+        /**
+         * @return 无法转换时返回错误，由调用方决定抛出还是记录，否则为 null，{@link Error} 直接抛出
+         */
+        ImportError write(Object t, int rowIndex, int columnIndex, ImportCell cell) {
+            if (!contains(columnIndex) || CellType._NONE.equals(cell.getCellType())) {
+                return null;
+            }
+            ColumnReader reader = readers[columnIndex];
+            try {
+                reader.read(t, cell);
+                cells++;
+                return null;
+            } catch (Error e) {
+                // OutOfMemoryError 等不是单元格的问题，不能记录后继续导入
+                throw e;
+            } catch (Throwable e) {
+                return new ImportError(sheetIndex, rowIndex, columnIndex, cell.getStringCellValue(),
+                        reader.getField().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 把逐行解析的结果攒成一批再回调，批次列表只创建一次
+     */
+    private static class BatchConsumer<T> implements Consumer<T> {
+
+        private final int batchSize;
+
+        private final Consumer<List<T>> consumer;
+
+        private final List<T> batch;
+
+        BatchConsumer(int batchSize, Consumer<List<T>> consumer) {
+            this.batchSize = batchSize;
+            this.consumer = consumer;
+            this.batch = new ArrayList<>();
+        }
+
+        @Override
+        public void accept(T t) {
+            batch.add(t);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static class SheetTarget {
+
+        private final String name;
+
+        private final int index;
+
+        private final Class<?> cls;
+
+        SheetTarget(String name, int index, Class<?> cls) {
+            this.name = name;
+            this.index = index;
+            this.cls = cls;
+        }
+
+        @Override
+        public String toString() {
+            return name != null ? name : String.valueOf(index);
+        }
+    }
+
 }
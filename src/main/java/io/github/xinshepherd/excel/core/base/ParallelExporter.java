@@ -0,0 +1,95 @@
+package io.github.xinshepherd.excel.core.base;
+
+import io.github.xinshepherd.excel.core.ExcelCancelledException;
+import io.github.xinshepherd.excel.core.ExcelException;
+import io.github.xinshepherd.excel.core.ExcelSheetMetadata;
+import io.github.xinshepherd.excel.core.SheetCreator;
+import io.github.xinshepherd.excel.core.StreamingWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 多个sheet并行导出
+ *
+ * sheet页、大标题和表头按 appendSheet 的调用顺序在当前线程创建，各个sheet的数据行在 executor 中同时写入，
+ * 每个sheet写入自己的临时文件。写出 workbook 之前需要调用 {@link #await()} 等待所有sheet写入完成。
+ *
+ * 数据会在 executor 的线程中遍历，自定义样式处理器的 getLabel 需要是线程安全的
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public class ParallelExporter extends StreamingExporter {
+
+    private final Executor executor;
+
+    private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    public ParallelExporter(Executor executor) {
+        this(executor, SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param executor            写入数据行的线程池
+     * @param rowAccessWindowSize 每个sheet在内存中保留的行数
+     */
+    public ParallelExporter(Executor executor, int rowAccessWindowSize) {
+        // 共享字符串表默认不启用，设置为 SHARED 的列在写入时同步访问
+        super(new StreamingWorkbook(null, rowAccessWindowSize, false, false));
+        this.executor = Objects.requireNonNull(executor, "executor不可为空");
+    }
+
+    @Override
+    protected <T> ExporterBase appendSheet(ExcelSheetMetadata<T> metadata) {
+        Runnable rows;
+        // 与其他sheet数据行中的样式创建互斥
+        synchronized (getWorkbook()) {
+            rows = new SheetCreator<>(metadata).prepareSheet();
+        }
+        futures.add(CompletableFuture.runAsync(rows, executor));
+        return this;
+    }
+
+    /**
+     * 等待所有sheet写入完成，任一sheet写入失败时抛出其异常
+     *
+     * @return this
+     */
+    public ParallelExporter await() {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            // allOf 在所有sheet都结束后才完成，此时可以安全地删除临时文件
+            if (e.getCause() instanceof ExcelCancelledException) {
+                release();
+            }
+            if (e.getCause() instanceof ExcelException) {
+                throw (ExcelException) e.getCause();
+            }
+            throw new ExcelException(e.getCause());
+        } finally {
+            futures.clear();
+        }
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            // 等待仍在写入的sheet，避免删除正在使用的临时文件
+            for (CompletableFuture<Void> future : futures) {
+                future.handle((result, e) -> null).join();
+            }
+            futures.clear();
+        } finally {
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.xinshepherd.excel.core.base;
+
+import io.github.xinshepherd.excel.core.ExcelException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 多个sheet的解析结果，可以按sheet名称、sheet序号或java类获取
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ * @see ImporterBase#resolveSheets()
+ */
+public final class SheetResults {
+
+    /**
+     * 按登记顺序排列
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    SheetResults() {
+    }
+
+    /**
+     * 登记一个sheet，返回存放解析结果的列表
+     */
+    List<Object> add(int sheetIndex, String sheetName, Class<?> cls) {
+        Entry entry = new Entry(sheetIndex, sheetName, cls);
+        entries.add(entry);
+        return entry.data;
+    }
+
+    /**
+     * @param sheetName sheet名称
+     * @param cls       登记时指定的java类
+     * @return 该sheet的解析结果
+     */
+    public <T> List<T> get(String sheetName, Class<T> cls) {
+        for (Entry entry : entries) {
+            if (entry.sheetName.equals(sheetName)) {
+                return entry.getData(cls);
+            }
+        }
+        throw new ExcelException(String.format("Sheet %s was not resolved.", sheetName));
+    }
+
+    /**
+     * @param sheetIndex sheet序号，0起始
+     * @param cls        登记时指定的java类
+     * @return 该sheet的解析结果
+     */
+    public <T> List<T> get(int sheetIndex, Class<T> cls) {
+        for (Entry entry : entries) {
+            if (entry.sheetIndex == sheetIndex) {
+                return entry.getData(cls);
+            }
+        }
+        throw new ExcelException(String.format("Sheet %d was not resolved.", sheetIndex));
+    }
+
+    /**
+     * @param cls java类
+     * @return 所有映射到该类的sheet的解析结果，按登记顺序合并，没有时返回空列表
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Class<T> cls) {
+        List<T> list = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.cls.equals(cls)) {
+                list.addAll((List<T>) entry.data);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @return 解析的sheet名称，按登记顺序
+     */
+    public List<String> getSheetNames() {
+        List<String> names = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            names.add(entry.sheetName);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    private static class Entry {
+
+        private final int sheetIndex;
+
+        private final String sheetName;
+
+        private final Class<?> cls;
+
+        private final List<Object> data = new ArrayList<>();
+
+        Entry(int sheetIndex, String sheetName, Class<?> cls) {
+            this.sheetIndex = sheetIndex;
+            this.sheetName = sheetName;
+            this.cls = cls;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> List<T> getData(Class<T> type) {
+            if (!cls.equals(type)) {
+                throw new ExcelException(String.format("Sheet %s was resolved as %s, not %s.",
+                        sheetName, cls.getName(), type.getName()));
+            }
+            return (List<T>) data;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.xinshepherd.excel.core.base;
+
+/**
+ * 事件方式读取 sheet 时的行回调
+ *
+ * 只有存在内容的行和单元格才会回调，行号和列号都从0开始
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+interface SheetRowHandler {
+
+    void startRow(int rowIndex);
+
+    /**
+     * @param columnIndex 列号
+     * @param cell        单元格的值，回调结束后会被重复使用
+     */
+    void cell(int columnIndex, ImportCell cell);
+
+    /**
+     * 读取方可以据此跳过不需要的单元格，不再创建它的值
+     *
+     * @param columnIndex 当前行的列号
+     * @return 是否需要这一列的值
+     */
+    default boolean accepts(int columnIndex) {
+        return true;
+    }
+
+    void endRow(int rowIndex);
+}
@@ -0,0 +1,77 @@
+package io.github.xinshepherd.excel.core.base;
+
+import io.github.xinshepherd.excel.core.ExcelException;
+import io.github.xinshepherd.excel.core.StreamingWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 基于 {@link SXSSFWorkbook} 的流式导出，内存中只保留最近 rowAccessWindowSize 行，
+ * 超出的行会被写入临时文件。配合 {@link #appendSheet(Class, java.util.Iterator)} 使用，导出时内存占用与数据量无关。
+ *
+ * 默认使用 {@link StreamingWorkbook}，可以按列选择共享字符串表或内联字符串，
+ * 传入其他 {@link SXSSFWorkbook} 时由 workbook 决定所有列的字符串保存方式
+ *
+ * 使用完毕后需要调用 {@link #close()} 删除临时文件，建议使用 try-with-resources，写出失败时也能删除
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public class StreamingExporter extends ExporterBase implements Closeable {
+
+    public StreamingExporter() {
+        this(SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param rowAccessWindowSize 每个sheet在内存中保留的行数
+     */
+    public StreamingExporter(int rowAccessWindowSize) {
+        this(new StreamingWorkbook(rowAccessWindowSize));
+    }
+
+    public StreamingExporter(SXSSFWorkbook workbook) {
+        super(workbook);
+    }
+
+    /**
+     * 设置临时文件所在的目录，只对之后创建的sheet生效，需要在 appendSheet 之前调用。
+     * 需要 workbook 为 {@link StreamingWorkbook}
+     *
+     * @param directory 已存在的目录
+     */
+    public StreamingExporter tempDirectory(Path directory) {
+        if (!(getWorkbook() instanceof StreamingWorkbook)) {
+            throw new ExcelException("tempDirectory requires a StreamingWorkbook");
+        }
+        ((StreamingWorkbook) getWorkbook()).setTempDirectory(directory == null ? null : directory.toFile());
+        return this;
+    }
+
+    /**
+     * 是否用 gzip 压缩临时文件，临时文件会小很多，但写入和写出时更耗 CPU。只对之后创建的sheet生效
+     *
+     * @param compress 是否压缩
+     */
+    public StreamingExporter compressTempFiles(boolean compress) {
+        getWorkbook().setCompressTempFiles(compress);
+        return this;
+    }
+
+    @Override
+    public SXSSFWorkbook getWorkbook() {
+        return (SXSSFWorkbook) super.getWorkbook();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            getWorkbook().dispose();
+        } finally {
+            getWorkbook().close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package io.github.xinshepherd.excel.core.base;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于记录事件读取 xls 文件，不会创建 HSSFWorkbook，不保存单元格、行和样式对象
+ *
+ * 记录按文件中的顺序逐条处理，只保留共享字符串表和数字格式。xls 的记录流不能随机访问，
+ * 所有需要的sheet在一次遍历中读取。公式单元格使用缓存的计算结果
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+class XlsEventReader implements Closeable {
+
+    private final POIFSFileSystem fileSystem;
+
+    /**
+     * 按工作簿中的顺序排列的sheet名称
+     */
+    private final List<String> sheetNames = new ArrayList<>();
+
+    private XlsEventReader(POIFSFileSystem fileSystem) throws IOException {
+        this.fileSystem = fileSystem;
+        // sheet名称都在工作簿的全局记录中，读到第一个sheet时停止
+        AbortableHSSFListener listener = new AbortableHSSFListener() {
+            @Override
+            public short abortableProcessRecord(Record record) {
+                if (record instanceof BoundSheetRecord) {
+                    sheetNames.add(((BoundSheetRecord) record).getSheetname());
+                    return 0;
+                }
+                return (short) (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKBOOK ? 0 : 1);
+            }
+        };
+        HSSFRequest request = new HSSFRequest();
+        request.addListener(listener, BoundSheetRecord.sid);
+        request.addListener(listener, BOFRecord.sid);
+        try {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+        } catch (HSSFUserException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * 打开文件并读取sheet名称，使用完毕后需要调用 {@link #close()}
+     */
+    static XlsEventReader open(InputStream inputStream) throws IOException {
+        POIFSFileSystem fileSystem = new POIFSFileSystem(inputStream);
+        try {
+            return new XlsEventReader(fileSystem);
+        } catch (IOException | RuntimeException e) {
+            fileSystem.close();
+            throw e;
+        }
+    }
+
+    int getNumberOfSheets() {
+        return sheetNames.size();
+    }
+
+    String getSheetName(int sheetIndex) {
+        return sheetNames.get(sheetIndex);
+    }
+
+    int getSheetIndex(String sheetName) {
+        return sheetNames.indexOf(sheetName);
+    }
+
+    /**
+     * 在一次遍历中读取多个sheet，读完序号最大的sheet后不再处理剩余的记录
+     *
+     * @param handlers key: sheet序号, value: 该sheet的行回调，同一个sheet可以有多个
+     */
+    void read(Map<Integer, List<SheetRowHandler>> handlers) throws IOException {
+        RecordListener listener = new RecordListener(handlers);
+        listener.formats = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(listener));
+        int lastSheetIndex = Collections.max(handlers.keySet());
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(new AbortableHSSFListener() {
+            @Override
+            public short abortableProcessRecord(Record record) {
+                listener.formats.processRecord(record);
+                return (short) (listener.depth == 0 && listener.sheetIndex >= lastSheetIndex ? 1 : 0);
+            }
+        });
+        try {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+        } catch (HSSFUserException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileSystem.close();
+    }
+
+    private static class RecordListener implements HSSFListener {
+
+        private final Map<Integer, List<SheetRowHandler>> handlers;
+
+        private final ImportCell cell = new ImportCell();
+
+        private FormatTrackingHSSFListener formats;
+
+        private SSTRecord strings;
+
+        private int sheetIndex = -1;
+
+        /**
+         * 子流的嵌套层数，sheet中嵌入的图表也以 BOF、EOF 包围
+         */
+        private int depth;
+
+        /**
+         * 当前sheet的行回调，不需要读取的sheet为空
+         */
+        private List<SheetRowHandler> current = Collections.emptyList();
+
+        /**
+         * 已经回调了 startRow 的行，没有时为 -1
+         */
+        private int rowIndex = -1;
+
+        /**
+         * 结果为字符串的公式，值在紧随其后的 StringRecord 中
+         */
+        private FormulaRecord pendingFormula;
+
+        RecordListener(Map<Integer, List<SheetRowHandler>> handlers) {
+            this.handlers = handlers;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            switch (record.getSid()) {
+                case BOFRecord.sid:
+                    // 与 sheet 名称的顺序一致，图表sheet也占用序号
+                    if (++depth == 1 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                        sheetIndex++;
+                        current = handlers.getOrDefault(sheetIndex, Collections.emptyList());
+                    }
+                    return;
+                case EOFRecord.sid:
+                    if (--depth == 0) {
+                        endRow();
+                        current = Collections.emptyList();
+                    }
+                    return;
+                case SSTRecord.sid:
+                    strings = (SSTRecord) record;
+                    return;
+                default:
+            }
+            if (current.isEmpty()) {
+                return;
+            }
+            if (record instanceof LastCellOfRowDummyRecord) {
+                if (((LastCellOfRowDummyRecord) record).getRow() == rowIndex) {
+                    endRow();
+                }
+            } else if (record instanceof NumberRecord) {
+                NumberRecord number = (NumberRecord) record;
+                cell(number, this.cell.numeric(number.getValue(), isDateFormatted(number)));
+            } else if (record instanceof LabelSSTRecord) {
+                LabelSSTRecord label = (LabelSSTRecord) record;
+                cell(label, this.cell.string(strings.getString(label.getSSTIndex()).getString()));
+            } else if (record instanceof LabelRecord) {
+                LabelRecord label = (LabelRecord) record;
+                cell(label, this.cell.string(label.getValue()));
+            } else if (record instanceof BoolErrRecord) {
+                BoolErrRecord bool = (BoolErrRecord) record;
+                if (bool.isBoolean()) {
+                    cell(bool, this.cell.bool(bool.getBooleanValue()));
+                }
+            } else if (record instanceof FormulaRecord) {
+                formula((FormulaRecord) record);
+            } else if (record instanceof StringRecord && pendingFormula != null) {
+                cell(pendingFormula, this.cell.string(((StringRecord) record).getString()));
+                pendingFormula = null;
+            }
+        }
+
+        private void formula(FormulaRecord formula) {
+            switch (cachedResultType(formula)) {
+                case NUMERIC:
+                    cell(formula, cell.numeric(formula.getValue(), isDateFormatted(formula)));
+                    break;
+                case STRING:
+                    if (formula.hasCachedResultString()) {
+                        pendingFormula = formula;
+                    }
+                    break;
+                case BOOLEAN:
+                    cell(formula, cell.bool(formula.getCachedBooleanValue()));
+                    break;
+                default:
+            }
+        }
+
+        /**
+         * 缓存的公式结果类型，POI 4.1.1 的 FormulaRecord 还没有 getCachedResultTypeEnum()，只能由类型码转换
+         */
+        private CellType cachedResultType(FormulaRecord formula) {
+            return CellType.forInt(formula.getCachedResultType());
+        }
+
+        private boolean isDateFormatted(CellValueRecordInterface record) {
+            return DateUtil.isADateFormat(formats.getFormatIndex(record), formats.getFormatString(record));
+        }
+
+        private void cell(CellValueRecordInterface record, ImportCell value) {
+            int row = record.getRow();
+            if (row != rowIndex) {
+                endRow();
+                rowIndex = row;
+                for (SheetRowHandler handler : current) {
+                    handler.startRow(row);
+                }
+            }
+            int column = record.getColumn();
+            for (SheetRowHandler handler : current) {
+                if (handler.accepts(column)) {
+                    handler.cell(column, value);
+                }
+            }
+        }
+
+        private void endRow() {
+            if (rowIndex >= 0) {
+                for (SheetRowHandler handler : current) {
+                    handler.endRow(rowIndex);
+                }
+                rowIndex = -1;
+            }
+        }
+    }
+}
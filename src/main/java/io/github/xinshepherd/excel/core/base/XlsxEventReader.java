@@ -0,0 +1,199 @@
+package io.github.xinshepherd.excel.core.base;
+
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于 SAX 事件读取 xlsx 文件，不会创建 XSSFWorkbook，内存占用只与当前行有关
+ *
+ * 输入流会先写入临时文件，再以只读方式打开，避免整个压缩包被解压到内存中。共享字符串和样式只加载一次，
+ * 多个sheet可以共用
+ *
+ * @author Fuxin
+ * @since 1.4.1
+ */
+class XlsxEventReader implements Closeable {
+
+    private final File file;
+
+    private final OPCPackage pkg;
+
+    private final ReadOnlySharedStringsTable strings;
+
+    private final StylesTable styles;
+
+    /**
+     * 按工作簿中的顺序排列的sheet名称和对应的部件
+     */
+    private final List<String> sheetNames = new ArrayList<>();
+
+    private final List<PackagePart> sheetParts = new ArrayList<>();
+
+    private XlsxEventReader(File file, OPCPackage pkg) throws Exception {
+        this.file = file;
+        this.pkg = pkg;
+        XSSFReader reader = new XSSFReader(pkg);
+        this.strings = new ReadOnlySharedStringsTable(pkg);
+        this.styles = reader.getStylesTable();
+        XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (iterator.hasNext()) {
+            iterator.next().close();
+            sheetNames.add(iterator.getSheetName());
+            sheetParts.add(iterator.getSheetPart());
+        }
+    }
+
+    /**
+     * 把输入流写入临时文件并打开，使用完毕后需要调用 {@link #close()}
+     */
+    static XlsxEventReader open(InputStream inputStream) throws Exception {
+        File file = TempFile.createTempFile("easy-excel-import", ".xlsx");
+        OPCPackage pkg = null;
+        try {
+            Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+            return new XlsxEventReader(file, pkg);
+        } catch (Exception e) {
+            if (pkg != null) {
+                pkg.revert();
+            }
+            Files.deleteIfExists(file.toPath());
+            throw e;
+        }
+    }
+
+    int getNumberOfSheets() {
+        return sheetNames.size();
+    }
+
+    String getSheetName(int sheetIndex) {
+        return sheetNames.get(sheetIndex);
+    }
+
+    /**
+     * @return sheet的序号，不存在时返回 -1
+     */
+    int getSheetIndex(String sheetName) {
+        return sheetNames.indexOf(sheetName);
+    }
+
+    /**
+     * 读取指定的sheet，不同的sheet可以在多个线程中同时读取
+     */
+    void read(int sheetIndex, SheetRowHandler handler) throws Exception {
+        RawValueFormatter formatter = new RawValueFormatter();
+        XMLReader parser = SAXHelper.newXMLReader();
+        parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings,
+                new ContentsHandler(handler, formatter), formatter, false));
+        try (InputStream sheet = sheetParts.get(sheetIndex).getInputStream()) {
+            parser.parse(new InputSource(sheet));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            pkg.revert();
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * 把单元格引用(如 AB12)中的列转换为从0开始的列号
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static class ContentsHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final SheetRowHandler handler;
+
+        private final RawValueFormatter formatter;
+
+        private final ImportCell cell = new ImportCell();
+
+        private int nextColumn;
+
+        ContentsHandler(SheetRowHandler handler, RawValueFormatter formatter) {
+            this.handler = handler;
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            nextColumn = 0;
+            handler.startRow(rowNum);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.endRow(rowNum);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (formatter.captured) {
+                cell.numeric(formatter.value, formatter.date);
+                formatter.captured = false;
+            } else if (formattedValue == null || formattedValue.isEmpty()) {
+                cell.blank();
+            } else {
+                cell.string(formattedValue);
+            }
+            int column = cellReference != null ? columnIndex(cellReference) : nextColumn;
+            nextColumn = column + 1;
+            handler.cell(column, cell);
+        }
+    }
+
+    /**
+     * 数字单元格不做格式化，只记录原始值和是否为日期格式，省去格式化字符串的开销
+     */
+    private static class RawValueFormatter extends DataFormatter {
+
+        private boolean captured;
+
+        private double value;
+
+        private boolean date;
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            this.captured = true;
+            this.value = value;
+            this.date = DateUtil.isADateFormat(formatIndex, formatString);
+            return "";
+        }
+    }
+}
@@ -4,15 +4,20 @@ import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.util.LocaleUtil;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQueries;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.regex.Pattern;
 
 /**
  * @author Fuxin
@@ -46,8 +51,26 @@ public abstract class DateTimeUtil extends DateUtil {
         return convertTime(TIME_FORMATTER.format(temporal));
     }
 
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    /**
+     * excel 的第0天 1899-12-31
+     */
+    private static final long EXCEL_EPOCH_DAY = LocalDate.of(1899, 12, 31).toEpochDay();
+
+    /**
+     * 把日期时间字符串转换为 excel 的数字。yyyy-MM-dd、yyyy-MM-dd HH:mm:ss、HH:mm:ss 三种格式直接解析，
+     * 其他格式使用通用的 DateTimeFormatter
+     *
+     * @param str 日期时间字符串
+     * @return excel 的日期数字
+     */
     public static Double parseDateTime(String str){
-        TemporalAccessor tmp = dateTimeFormats.parse(str.replaceAll("\\s+", " "));
+        Double value = parseIsoDateTime(str);
+        if (value != null) {
+            return value;
+        }
+        TemporalAccessor tmp = dateTimeFormats.parse(WHITESPACES.matcher(str).replaceAll(" "));
         LocalTime time = tmp.query(TemporalQueries.localTime());
         LocalDate date = tmp.query(TemporalQueries.localDate());
         if(time == null && date == null) return null;
@@ -62,4 +85,82 @@ public abstract class DateTimeUtil extends DateUtil {
         return tm;
     }
 
+    private static final long MILLIS_PER_DAY = SECONDS_PER_DAY * 1000L;
+
+    /**
+     * 把 excel 的日期数字转换为 {@link LocalDateTime}，不经过时区转换，精确到毫秒
+     *
+     * @param excelDate excel 的日期数字，1900 日期系统
+     * @return 日期时间
+     */
+    public static LocalDateTime toLocalDateTime(double excelDate) {
+        if (!isValidExcelDate(excelDate)) {
+            throw new IllegalArgumentException("Invalid excel date " + excelDate);
+        }
+        long days = (long) Math.floor(excelDate);
+        long millis = Math.round((excelDate - days) * MILLIS_PER_DAY);
+        // excel 把1900年当作闰年，1900-02-28 之后的日期多一天
+        if (days > 60) {
+            days--;
+        }
+        return LocalDate.ofEpochDay(EXCEL_EPOCH_DAY + days).atStartOfDay().plus(millis, ChronoUnit.MILLIS);
+    }
+
+    /**
+     * 逐个字符解析 yyyy-MM-dd、yyyy-MM-dd HH:mm:ss、HH:mm:ss，其他格式或不合法的值返回 null
+     */
+    private static Double parseIsoDateTime(String str) {
+        int length = str.length();
+        if (length == 8) {
+            int seconds = secondOfDay(str, 0);
+            return seconds < 0 ? null : (double) seconds / SECONDS_PER_DAY;
+        }
+        if (length != 10 && (length != 19 || str.charAt(10) != ' ')) {
+            return null;
+        }
+        int year = digits(str, 0, 4);
+        int month = digits(str, 5, 2);
+        int day = digits(str, 8, 2);
+        if (year < 1900 || str.charAt(4) != '-' || str.charAt(7) != '-'
+                || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        long days = LocalDate.of(year, month, day).toEpochDay() - EXCEL_EPOCH_DAY;
+        // excel 把1900年当作闰年，1900-03-01 之后的日期多一天
+        if (days >= 60) {
+            days++;
+        }
+        if (length == 10) {
+            return (double) days;
+        }
+        int seconds = secondOfDay(str, 11);
+        return seconds < 0 ? null : days + (double) seconds / SECONDS_PER_DAY;
+    }
+
+    /**
+     * 解析从 from 开始的 HH:mm:ss，不合法时返回 -1
+     */
+    private static int secondOfDay(String str, int from) {
+        int hour = digits(str, from, 2);
+        int minute = digits(str, from + 3, 2);
+        int second = digits(str, from + 6, 2);
+        if (str.charAt(from + 2) != ':' || str.charAt(from + 5) != ':'
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    private static int digits(String str, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
 }
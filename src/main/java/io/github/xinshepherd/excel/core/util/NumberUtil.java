@@ -0,0 +1,22 @@
+package io.github.xinshepherd.excel.core.util;
+
+/**
+ * @author Fuxin
+ * @since 1.4.1
+ */
+public abstract class NumberUtil {
+
+    /**
+     * float 按十进制文本转换为 double，1.1f 得到 1.1 而不是 1.100000023841858，与经过 toString 转换的结果一致
+     */
+    public static double toDouble(float value) {
+        return Double.parseDouble(Float.toString(value));
+    }
+
+    /**
+     * Float 按 {@link #toDouble(float)} 转换，其他数字直接取 double 值
+     */
+    public static double toDouble(Number value) {
+        return value instanceof Float ? toDouble(value.floatValue()) : value.doubleValue();
+    }
+}
@@ -2,26 +2,73 @@ package io.github.xinshepherd.excel;
 
 import io.github.xinshepherd.excel.annotation.Excel;
 import io.github.xinshepherd.excel.annotation.ExcelField;
+import io.github.xinshepherd.excel.core.CellStyleProcessor;
+import io.github.xinshepherd.excel.core.ExcelCancelledException;
 import io.github.xinshepherd.excel.core.ExcelException;
+import io.github.xinshepherd.excel.core.ExcelMetrics;
+import io.github.xinshepherd.excel.core.ExcelSheetBuilder;
+import io.github.xinshepherd.excel.core.ExcelSheetMetadata;
+import io.github.xinshepherd.excel.core.FieldAccessor;
 import io.github.xinshepherd.excel.core.FontStyle;
+import io.github.xinshepherd.excel.core.InMemoryMetrics;
+import io.github.xinshepherd.excel.core.IndexedCellStyleProcessor;
+import io.github.xinshepherd.excel.core.ModelDescriptor;
+import io.github.xinshepherd.excel.core.RowMonitor;
+import io.github.xinshepherd.excel.core.SheetCreator;
+import io.github.xinshepherd.excel.core.StreamingWorkbook;
+import io.github.xinshepherd.excel.core.StylePool;
+import io.github.xinshepherd.excel.core.base.CsvExporter;
 import io.github.xinshepherd.excel.core.base.DefaultExporter;
 import io.github.xinshepherd.excel.core.base.ExporterBase;
+import io.github.xinshepherd.excel.core.base.ParallelExporter;
+import io.github.xinshepherd.excel.core.base.StreamingExporter;
 import io.github.xinshepherd.excel.core.util.DateTimeUtil;
 import lombok.Data;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.math.BigInteger;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForClassTypes.within;
 
 
 /**
@@ -147,6 +194,423 @@ class ExporterBaseTest {
         out.close();
     }
 
+    @Test
+    void testStreamingExport() throws IOException {
+        Path tempDirectory = Files.createDirectories(Paths.get("target", "streaming-temp"));
+        try (StreamingExporter exporter = new StreamingExporter(100)
+                .tempDirectory(tempDirectory)
+                .compressTempFiles(true)) {
+            Stream<Model> data = IntStream.range(0, 1000).mapToObj(i -> {
+                Model model = new Model();
+                model.setName("foo" + i);
+                model.setBirthDate(new Date());
+                model.setAge(i);
+                return model;
+            });
+            exporter.appendSheet(Model.class, data)
+                    .appendSheet(Detail.class, Collections.<Detail>emptyIterator());
+            assertThat(tempDirectory.toFile().list()).hasSize(2);
+            exporter.writeTo(Paths.get("target/foo-streaming.xlsx"));
+        }
+        assertThat(tempDirectory.toFile().list()).hasSize(0);
+        try (Workbook workbook = new XSSFWorkbook(new FileInputStream("target/foo-streaming.xlsx"))) {
+            assertThat(workbook.getSheet("汇总表").getLastRowNum()).isEqualTo(1000);
+            assertThat(workbook.getSheet("汇总表").getRow(1000).getCell(0).getStringCellValue()).isEqualTo("foo999");
+            assertThat(workbook.getSheet("详情表").getLastRowNum()).isEqualTo(0);
+        }
+        ExcelSheetMetadata<Detail> metadata = new ExcelSheetMetadata<>(Detail.class, Collections.<Detail>emptyIterator(),
+                new XSSFWorkbook(), null);
+        assertThatThrownBy(metadata::getData).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testCancelExport() throws IOException {
+        Path tempDirectory = Files.createDirectories(Paths.get("target", "cancel-temp"));
+        List<Long> progress = new ArrayList<>();
+        RowMonitor monitor = new RowMonitor();
+        monitor.progress(100, rows -> {
+            progress.add(rows);
+            if (rows == 300) {
+                monitor.cancel();
+            }
+        });
+        try (StreamingExporter exporter = new StreamingExporter(100).tempDirectory(tempDirectory)) {
+            exporter.monitor(monitor);
+            Stream<Model> data = IntStream.range(0, 1000).mapToObj(i -> new Model());
+            assertThatThrownBy(() -> exporter.appendSheet(Model.class, data))
+                    .isInstanceOfSatisfying(ExcelCancelledException.class, e -> {
+                        assertThat(e.isTimeout()).isFalse();
+                        assertThat(e.getRows()).isEqualTo(300L);
+                    });
+            // 中止时已删除临时文件
+            assertThat(tempDirectory.toFile().list()).hasSize(0);
+        }
+        assertThat(progress).isEqualTo(Arrays.asList(100L, 200L, 300L));
+
+        ExporterBase exporter = new DefaultExporter(new HSSFWorkbook())
+                .monitor(new RowMonitor().deadline(Duration.ZERO));
+        assertThatThrownBy(() -> exporter.appendSheet(Model.class, Collections.singletonList(new Model())))
+                .isInstanceOfSatisfying(ExcelCancelledException.class, e -> assertThat(e.isTimeout()).isTrue());
+    }
+
+    @Test
+    void testWriteTo() throws IOException {
+        ExporterBase exporter = new DefaultExporter(new XSSFWorkbook()).bufferSize(1024)
+                .appendSheet(Model.class, Collections.singletonList(new Model()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writeTo(Channels.newChannel(out));
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getSheet("汇总表").getLastRowNum()).isEqualTo(1);
+        }
+        assertThatThrownBy(() -> exporter.bufferSize(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testParallelExport() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (ParallelExporter exporter = new ParallelExporter(executor, 100)) {
+            for (int i = 0; i < 8; i++) {
+                int sheet = i;
+                Stream<Model> data = IntStream.range(0, 2000).mapToObj(j -> {
+                    Model model = new Model();
+                    model.setName(sheet + "-" + j);
+                    model.setBirthDate(new Date());
+                    model.setAge(j);
+                    return model;
+                });
+                exporter.appendSheet(Model.class, data, "Sheet " + i);
+            }
+            exporter.await();
+            try (OutputStream out = new FileOutputStream("target/foo-parallel.xlsx")) {
+                exporter.getWorkbook().write(out);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try (Workbook workbook = new XSSFWorkbook(new FileInputStream("target/foo-parallel.xlsx"))) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(8);
+            for (int i = 0; i < 8; i++) {
+                assertThat(workbook.getSheetName(i)).isEqualTo("Sheet " + i);
+                assertThat(workbook.getSheetAt(i).getLastRowNum()).isEqualTo(2000);
+                assertThat(workbook.getSheetAt(i).getRow(2000).getCell(0).getStringCellValue()).isEqualTo(i + "-1999");
+            }
+        }
+    }
+
+    @Test
+    void testSheetRollover() {
+        List<Model> data = new ArrayList<>();
+        for (int i = 0; i < 70000; i++) {
+            Model model = new Model();
+            model.setName("foo" + i);
+            model.setAge(i);
+            data.add(model);
+        }
+        Workbook workbook = new HSSFWorkbook();
+        new DefaultExporter(workbook).appendSheet(Model.class, data);
+        assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+        assertThat(workbook.getSheet("汇总表").getLastRowNum()).isEqualTo(65535);
+        Sheet next = workbook.getSheet("汇总表 (2)");
+        assertThat(next.getRow(0).getCell(0).getStringCellValue()).isEqualTo("姓名");
+        assertThat(next.getLastRowNum()).isEqualTo(70000 - 65535);
+        assertThat(next.getRow(next.getLastRowNum()).getCell(0).getStringCellValue()).isEqualTo("foo69999");
+
+        SXSSFWorkbook streaming = new SXSSFWorkbook(10);
+        new SheetCreator<>(new ExcelSheetBuilder<>(Model.class, data.subList(0, 25).iterator(), streaming)
+                .maxRows(11)
+                .build()).createSheet();
+        assertThat(streaming.getNumberOfSheets()).isEqualTo(3);
+        assertThat(streaming.getSheet("汇总表 (2)").getLastRowNum()).isEqualTo(10);
+        assertThat(streaming.getSheet("汇总表 (3)").getLastRowNum()).isEqualTo(5);
+        streaming.dispose();
+
+        Workbook limited = new DefaultExporter(new XSSFWorkbook())
+                .maxRows(11)
+                .appendSheet(Model.class, data.subList(0, 25))
+                .getWorkbook();
+        assertThat(limited.getNumberOfSheets()).isEqualTo(3);
+        assertThat(limited.getSheet("汇总表 (3)").getLastRowNum()).isEqualTo(5);
+
+        assertThat(DefaultExporter.ofEstimatedRows(1000).getWorkbook()).isInstanceOf(HSSFWorkbook.class);
+        assertThat(DefaultExporter.ofEstimatedRows(70000).getWorkbook()).isInstanceOf(XSSFWorkbook.class);
+    }
+
+    @Test
+    void testStylePool() {
+        Workbook workbook = new HSSFWorkbook();
+        int defaultStyles = workbook.getNumCellStyles();
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        ExporterBase exporter = new DefaultExporter(workbook).metrics(metrics);
+        List<Model> data = new ArrayList<>();
+        Model model = new Model();
+        model.setName("foo");
+        model.setAge(1);
+        data.add(model);
+        for (int i = 0; i < 3; i++) {
+            exporter.appendSheet(Model.class, data, "Sheet " + i);
+        }
+        assertThat(exporter.getStylePool().getReusedCount()).isGreaterThan(0);
+        // 除了样式池创建的样式，没有其他多余的样式
+        assertThat(workbook.getNumCellStyles()).isEqualTo(defaultStyles + exporter.getStylePool().getCreatedCount());
+        for (int i = 0; i < 5; i++) {
+            assertThat(workbook.getSheet("Sheet 2").getRow(1).getCell(i).getCellStyle().getIndex())
+                    .isEqualTo(workbook.getSheet("Sheet 0").getRow(1).getCell(i).getCellStyle().getIndex());
+        }
+        // 表头字体只创建一次，表头样式也在sheet之间共用
+        assertThat(exporter.getStylePool().getFontCount()).isEqualTo(1);
+        assertThat(workbook.getSheet("Sheet 2").getRow(0).getCell(0).getCellStyle().getIndex())
+                .isEqualTo(workbook.getSheet("Sheet 0").getRow(0).getCell(0).getCellStyle().getIndex());
+        // 时间和excel时间两列的样式相同
+        assertThat(workbook.getSheet("Sheet 0").getRow(1).getCell(3).getCellStyle().getIndex())
+                .isEqualTo(workbook.getSheet("Sheet 0").getRow(1).getCell(4).getCellStyle().getIndex());
+
+        // 样式池只向调用方所在sheet的指标报告，共用样式池但没有设置指标的sheet不计入导出的指标
+        assertThat(metrics.getCount(ExcelMetrics.Counter.STYLES)).isEqualTo(exporter.getStylePool().getCreatedCount());
+        int created = exporter.getStylePool().getCreatedCount();
+        new SheetCreator<>(new ExcelSheetBuilder<>(GradeModel.class, Collections.singletonList(new GradeModel()), workbook)
+                .stylePool(exporter.getStylePool())
+                .build()).createSheet();
+        assertThat(exporter.getStylePool().getCreatedCount()).isGreaterThan(created);
+        assertThat(metrics.getCount(ExcelMetrics.Counter.STYLES)).isEqualTo(created);
+    }
+
+    @Test
+    void testLabelStyles() {
+        Workbook workbook = new HSSFWorkbook();
+        List<GradeModel> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            GradeModel model = new GradeModel();
+            model.setScore(i % 100);
+            model.setSerial(i);
+            data.add(model);
+        }
+        ExporterBase exporter = new DefaultExporter(workbook).appendSheet(GradeModel.class, data);
+        Sheet sheet = workbook.getSheet("成绩");
+        assertThat(sheet.getRow(1).getCell(0).getCellStyle().getFillForegroundColor()).isEqualTo((short) 0x0A);
+        assertThat(sheet.getRow(61).getCell(0).getCellStyle().getFillForegroundColor()).isEqualTo((short) 0x11);
+        assertThat(sheet.getRow(2).getCell(0).getCellStyle().getIndex())
+                .isEqualTo(sheet.getRow(1).getCell(0).getCellStyle().getIndex());
+        // 1000 个不同的标签只对应两种样式
+        assertThat(sheet.getRow(3).getCell(1).getCellStyle().getIndex())
+                .isEqualTo(sheet.getRow(1).getCell(1).getCellStyle().getIndex());
+        assertThat(exporter.getStylePool().getCreatedCount()).isLessThan(10);
+    }
+
+    @Test
+    void testStyleLimit() {
+        Workbook workbook = new HSSFWorkbook();
+        List<FormattedModel> data = IntStream.range(0, 5000).mapToObj(i -> {
+            FormattedModel model = new FormattedModel();
+            model.setValue(i);
+            return model;
+        }).collect(Collectors.toList());
+        // 每个值一种样式，超过 xls 最多4000个样式的限制
+        ExporterBase exporter = new DefaultExporter(workbook).appendSheet(FormattedModel.class, data);
+        StylePool stylePool = exporter.getStylePool();
+        assertThat(stylePool.getMaxStyles()).isLessThan(workbook.getSpreadsheetVersion().getMaxCellStyles());
+        assertThat(workbook.getNumCellStyles()).isLessThanOrEqualTo(stylePool.getMaxStyles());
+        Sheet sheet = workbook.getSheet("格式");
+        assertThat(sheet.getRow(1).getCell(0).getCellStyle().getRotation()).isEqualTo((short) -90);
+        // 达到上限后的标签使用这一列不带自定义样式的基础样式
+        CellStyle last = sheet.getRow(5000).getCell(0).getCellStyle();
+        assertThat(last.getRotation()).isEqualTo((short) 0);
+        assertThat(last.getBorderLeft()).isEqualTo(BorderStyle.NONE);
+        assertThat(last.getAlignment()).isEqualTo(HorizontalAlignment.RIGHT);
+
+        // 没有标签的样式达到上限时抛出异常，并指出是哪一列
+        Workbook small = new HSSFWorkbook();
+        ExporterBase smallExporter = new DefaultExporter(small);
+        smallExporter.getStylePool().setMaxStyles(small.getNumCellStyles());
+        assertThatThrownBy(() -> smallExporter.appendSheet(Model.class, Collections.singletonList(new Model())))
+                .isInstanceOf(ExcelException.class)
+                .hasMessageContaining("name");
+    }
+
+    @Test
+    void testStringMode() throws IOException {
+        List<LogModel> data = IntStream.range(0, 300).mapToObj(i -> {
+            LogModel model = new LogModel();
+            model.setId("ID-" + i);
+            model.setLevel(i % 2 == 0 ? "INFO" : "WARN");
+            model.setMessage(" message " + i);
+            return model;
+        }).collect(Collectors.toList());
+
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        new DefaultExporter(workbook).appendSheet(LogModel.class, data);
+        // 三个表头和 level 列的两个值
+        assertStringMode(workbook, 5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingExporter exporter = new StreamingExporter(new StreamingWorkbook(new XSSFWorkbook(), 50, true, false))) {
+            exporter.appendSheet(LogModel.class, data.iterator());
+            exporter.getWorkbook().write(out);
+        }
+        try (XSSFWorkbook streamed = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            // 流式写入时表头也按列处理，只有 level 列的表头和两个值
+            assertStringMode(streamed, 3);
+        }
+
+        // 并行导出同样按列处理，并且可以指定临时文件目录
+        Path tempDirectory = Files.createDirectories(Paths.get("target", "parallel-temp"));
+        out.reset();
+        try (ParallelExporter exporter = new ParallelExporter(ForkJoinPool.commonPool(), 50)) {
+            exporter.tempDirectory(tempDirectory);
+            exporter.appendSheet(LogModel.class, data.iterator());
+            assertThat(tempDirectory.toFile().list()).hasSize(1);
+            exporter.await().writeTo(out);
+        }
+        assertThat(tempDirectory.toFile().list()).hasSize(0);
+        try (XSSFWorkbook streamed = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertStringMode(streamed, 3);
+        }
+    }
+
+    private static void assertStringMode(XSSFWorkbook workbook, int sharedCount) {
+        XSSFRow row = workbook.getSheet("日志").getRow(300);
+        assertThat(row.getCell(0).getCTCell().getT()).isEqualTo(STCellType.INLINE_STR);
+        assertThat(row.getCell(0).getStringCellValue()).isEqualTo("ID-299");
+        assertThat(row.getCell(1).getCTCell().getT()).isEqualTo(STCellType.S);
+        assertThat(row.getCell(1).getStringCellValue()).isEqualTo("WARN");
+        assertThat(row.getCell(2).getCTCell().getT()).isEqualTo(STCellType.INLINE_STR);
+        assertThat(row.getCell(2).getStringCellValue()).isEqualTo(" message 299");
+        assertThat(workbook.getSharedStringSource().getSharedStringItems().size()).isEqualTo(sharedCount);
+    }
+
+    @Test
+    void testWarmUp() {
+        ModelDescriptor.warmUp(Model.class, Detail.class);
+        assertThat(ModelDescriptor.of(Model.class)).isSameAs(ModelDescriptor.of(Model.class));
+        assertThat(ModelDescriptor.of(Detail.class).getExcelFields().size()).isEqualTo(6);
+        assertThatThrownBy(() -> ModelDescriptor.warmUp(CustomFontStyle.class))
+                .isInstanceOf(ExcelException.class);
+    }
+
+    @Test
+    void testNumericPrecision() {
+        Workbook workbook = new HSSFWorkbook();
+        NumericModel model = new NumericModel();
+        model.setSmall((short) 12);
+        model.setRatio(0.5f);
+        model.setAmount(new BigDecimal("1234.56"));
+        model.setId(9007199254740993L);
+        model.setRoundedId(9007199254740993L);
+        model.setBigId(new BigInteger("123456789012345678901234567890"));
+        new DefaultExporter(workbook).appendSheet(NumericModel.class, Collections.singletonList(model));
+        Row row = workbook.getSheet("数值").getRow(1);
+        assertThat(row.getCell(0).getNumericCellValue()).isEqualTo(12.0);
+        assertThat(row.getCell(1).getNumericCellValue()).isEqualTo(0.5);
+        assertThat(row.getCell(2).getNumericCellValue()).isEqualTo(1234.56);
+        assertThat(row.getCell(3).getStringCellValue()).isEqualTo("9007199254740993");
+        assertThat(row.getCell(4).getNumericCellValue()).isEqualTo(9007199254740992.0);
+        assertThat(row.getCell(5).getStringCellValue()).isEqualTo("123456789012345678901234567890");
+
+        // float 按十进制文本转换，不是 1.100000023841858
+        model.setRatio(1.1f);
+        model.setBoxedRatio(1.1f);
+        new DefaultExporter(workbook).appendSheet(NumericModel.class, Collections.singletonList(model), "float");
+        row = workbook.getSheet("float").getRow(1);
+        assertThat(row.getCell(1).getNumericCellValue()).isEqualTo(1.1);
+        assertThat(row.getCell(7).getNumericCellValue()).isEqualTo(1.1);
+
+        model.setBigId(null);
+        model.setStrictId(Long.MAX_VALUE);
+        assertThatThrownBy(() -> new DefaultExporter(workbook)
+                .appendSheet(NumericModel.class, Collections.singletonList(model), "strict"))
+                .isInstanceOf(ExcelException.class);
+    }
+
+    @Test
+    void testReadFieldNotGetter() {
+        Workbook workbook = new HSSFWorkbook();
+        MaskedModel model = new MaskedModel();
+        model.name = "foo";
+        new DefaultExporter(workbook).appendSheet(MaskedModel.class, Collections.singletonList(model));
+        assertThat(workbook.getSheet("脱敏").getRow(1).getCell(0).getStringCellValue()).isEqualTo("foo");
+    }
+
+    @Test
+    void testFieldAccessor() throws NoSuchFieldException {
+        PrimitiveModel model = new PrimitiveModel();
+        model.small = -3;
+        model.tiny = -7;
+        model.ratio = 1.1f;
+        model.count = 42;
+        FieldAccessor<PrimitiveModel> small = FieldAccessor.of(PrimitiveModel.class.getDeclaredField("small"));
+        FieldAccessor<PrimitiveModel> tiny = FieldAccessor.of(PrimitiveModel.class.getDeclaredField("tiny"));
+        FieldAccessor<PrimitiveModel> ratio = FieldAccessor.of(PrimitiveModel.class.getDeclaredField("ratio"));
+        FieldAccessor<PrimitiveModel> count = FieldAccessor.of(PrimitiveModel.class.getDeclaredField("count"));
+        // get 的结果与 Field.get 相同，按字段的类型装箱
+        assertThat(small.get(model)).isEqualTo((short) -3);
+        assertThat(tiny.get(model)).isEqualTo((byte) -7);
+        assertThat(ratio.get(model)).isEqualTo(1.1f);
+        assertThat(count.get(model)).isEqualTo(42);
+        assertThat(small.getInt(model)).isEqualTo(-3);
+        assertThat(tiny.getLong(model)).isEqualTo(-7L);
+        assertThat(ratio.getDouble(model)).isEqualTo(1.1);
+        assertThat(count.getDouble(model)).isEqualTo(42.0);
+        assertThatThrownBy(() -> count.get(null)).isInstanceOf(ExcelException.class);
+    }
+
+    @Test
+    void testParseDateTime() {
+        LocalDateTime dateTime = LocalDateTime.of(2020, 2, 29, 13, 45, 36);
+        assertThat(DateTimeUtil.parseDateTime("2020-02-29")).isEqualTo(DateUtil.getExcelDate(dateTime.toLocalDate()));
+        assertThat(DateTimeUtil.parseDateTime("2020-02-29 13:45:36")).isCloseTo(DateUtil.getExcelDate(dateTime), within(1e-9));
+        assertThat(DateTimeUtil.parseDateTime("13:45:36")).isCloseTo(DateUtil.convertTime("13:45:36"), within(1e-9));
+        assertThat(DateTimeUtil.parseDateTime("1900-01-01")).isEqualTo(1.0);
+        assertThat(DateTimeUtil.parseDateTime("1900-03-01")).isEqualTo(61.0);
+        // 其他格式仍由通用格式解析
+        assertThat(DateTimeUtil.parseDateTime("2020-02-29  13:45:36")).isCloseTo(DateUtil.getExcelDate(dateTime), within(1e-9));
+        assertThatThrownBy(() -> DateTimeUtil.parseDateTime("2020-13-01")).isInstanceOf(DateTimeParseException.class);
+    }
+
+    @Test
+    void testCsvExport() throws IOException {
+        NumericModel model = new NumericModel();
+        model.setSmall((short) 12);
+        model.setRatio(0.5f);
+        model.setAmount(new BigDecimal("1234.56"));
+        model.setId(9007199254740993L);
+        model.setBigId(new BigInteger("123456789012345678901234567890"));
+        model.setStrictId(Long.MIN_VALUE);
+        model.setBoxedRatio(1.1f);
+        StringWriter writer = new StringWriter();
+        // 缓冲区很小，覆盖写满后刷新、数字比缓冲区还长的情况
+        try (CsvExporter exporter = new CsvExporter(writer, 16)) {
+            exporter.write(NumericModel.class, Collections.singletonList(model));
+        }
+        assertThat(writer.toString()).isEqualTo("short,float,金额,ID,ROUND ID,BIG ID,STRICT ID,Float\r\n"
+                + "12,0.5,1234.56,9007199254740993,,123456789012345678901234567890,-9223372036854775808,1.1\r\n");
+
+        LocalDateTime dateTime = LocalDateTime.of(2020, 2, 29, 13, 45, 36);
+        Detail detail = new Detail();
+        detail.setName("foo, \"bar\"");
+        detail.setBirthDate(Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant()));
+        detail.setTime(dateTime);
+        detail.setExcelTime(DateTimeUtil.convertTime("12:45:36"));
+        detail.setDateStr("2020-02-29");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvExporter exporter = CsvExporter.of(out, StandardCharsets.UTF_8).delimiter(';').header(false)) {
+            exporter.write(Detail.class, Stream.of(detail, detail));
+        }
+        String row = "\"foo, \"\"bar\"\"\";2020-02-29 13:45:36;;13:45:36;12:45:36;2020-02-29\r\n";
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(row + row);
+
+        // excel 的日期格式：m 在 h 之后或 s 之前是分钟，否则是月份
+        DatePatternModel patternModel = new DatePatternModel();
+        patternModel.setDate(dateTime);
+        patternModel.setShortDateTime(dateTime);
+        patternModel.setHourMinute(dateTime);
+        patternModel.setMinuteSecond(dateTime);
+        patternModel.setChineseDate(dateTime);
+        patternModel.setText("2020-02-29 13:45:36");
+        writer = new StringWriter();
+        try (CsvExporter exporter = new CsvExporter(writer).header(false)) {
+            exporter.write(DatePatternModel.class, Collections.singletonList(patternModel));
+        }
+        assertThat(writer.toString()).isEqualTo("2020/2/29,2/29/20 13:45,13:45,45:36,2020年2月29日,2020/2/29 13:45\r\n");
+    }
 
     @Test
     void testException() {
@@ -202,6 +666,177 @@ class ExporterBaseTest {
 
     }
 
+    @Data
+    @Excel("数值")
+    public static class NumericModel {
+
+        @ExcelField(value = "short", type = ExcelField.CellType.NUMERIC)
+        private short small;
+
+        @ExcelField(value = "float", type = ExcelField.CellType.NUMERIC)
+        private float ratio;
+
+        @ExcelField(value = "金额", type = ExcelField.CellType.NUMERIC)
+        private BigDecimal amount;
+
+        @ExcelField(value = "ID", type = ExcelField.CellType.NUMERIC, precision = ExcelField.Precision.TEXT)
+        private long id;
+
+        @ExcelField(value = "ROUND ID", type = ExcelField.CellType.NUMERIC)
+        private Long roundedId;
+
+        @ExcelField(value = "BIG ID", type = ExcelField.CellType.NUMERIC, precision = ExcelField.Precision.TEXT)
+        private BigInteger bigId;
+
+        @ExcelField(value = "STRICT ID", type = ExcelField.CellType.NUMERIC, precision = ExcelField.Precision.STRICT)
+        private long strictId;
+
+        @ExcelField(value = "Float", type = ExcelField.CellType.NUMERIC)
+        private Float boxedRatio;
+    }
+
+    @Data
+    @Excel("日期格式")
+    public static class DatePatternModel {
+
+        @ExcelField(value = "日期", type = ExcelField.CellType.DATE, datePattern = "yyyy/m/d")
+        private LocalDateTime date;
+
+        @ExcelField(value = "日期时间", type = ExcelField.CellType.DATE, datePattern = "m/d/yy h:mm")
+        private LocalDateTime shortDateTime;
+
+        @ExcelField(value = "时间", type = ExcelField.CellType.DATE, datePattern = "hh:mm")
+        private LocalDateTime hourMinute;
+
+        @ExcelField(value = "分秒", type = ExcelField.CellType.DATE, datePattern = "mm:ss")
+        private LocalDateTime minuteSecond;
+
+        @ExcelField(value = "中文日期", type = ExcelField.CellType.DATE, datePattern = "yyyy\"年\"m\"月\"d\"日\"")
+        private LocalDateTime chineseDate;
+
+        /** 与导出 excel 时一样先解析再按日期格式输出 */
+        @ExcelField(value = "字符串日期", type = ExcelField.CellType.DATE, datePattern = "yyyy/m/d h:mm")
+        private String text;
+    }
+
+    public static class PrimitiveModel {
+
+        private short small;
+
+        private byte tiny;
+
+        private float ratio;
+
+        private int count;
+    }
+
+    @Excel("脱敏")
+    public static class MaskedModel {
+
+        @ExcelField("姓名")
+        private String name;
+
+        public String getName() {
+            return "getter:" + name;
+        }
+    }
+
+    @Data
+    @Excel("成绩")
+    public static class GradeModel {
+
+        @ExcelField(value = "分数", type = ExcelField.CellType.NUMERIC, customStyle = GradeStyleProcessor.class)
+        private int score;
+
+        @ExcelField(value = "序号", type = ExcelField.CellType.NUMERIC, customStyle = SerialStyleProcessor.class)
+        private int serial;
+    }
+
+    public static class GradeStyleProcessor implements IndexedCellStyleProcessor {
+
+        private static final List<String> LABELS = Arrays.asList("FAIL", "PASS");
+
+        @Override
+        public List<String> getLabels() {
+            return LABELS;
+        }
+
+        @Override
+        public int getLabelIndex(Object data) {
+            return (Integer) data < 60 ? 0 : 1;
+        }
+
+        @Override
+        public CellStyle customize(CellStyle cellStyle, String label) {
+            cellStyle.setFillForegroundColor("FAIL".equals(label) ? (short) 0x0A : (short) 0x11);
+            cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            return cellStyle;
+        }
+    }
+
+    /**
+     * 每个值一个标签，但只有奇偶两种样式
+     */
+    public static class SerialStyleProcessor implements CellStyleProcessor {
+
+        @Override
+        public String getLabel(Object data) {
+            return String.valueOf(data);
+        }
+
+        @Override
+        public CellStyle customize(CellStyle cellStyle, String label) {
+            if (Integer.parseInt(label) % 2 == 0) {
+                cellStyle.setFillForegroundColor((short) 0x16);
+                cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            }
+            return cellStyle;
+        }
+    }
+
+    @Data
+    @Excel("格式")
+    public static class FormattedModel {
+
+        @ExcelField(value = "值", type = ExcelField.CellType.NUMERIC, horizontalAlignment = HorizontalAlignment.RIGHT,
+                customStyle = FormatStyleProcessor.class)
+        private int value;
+    }
+
+    /**
+     * 每个标签一种样式
+     */
+    public static class FormatStyleProcessor implements CellStyleProcessor {
+
+        @Override
+        public String getLabel(Object data) {
+            return String.valueOf(data);
+        }
+
+        @Override
+        public CellStyle customize(CellStyle cellStyle, String label) {
+            int value = Integer.parseInt(label);
+            cellStyle.setRotation((short) (value % 181 - 90));
+            cellStyle.setIndention((short) (value / 181 % 16));
+            cellStyle.setBorderLeft(BorderStyle.values()[value / 2896 + 1]);
+            return cellStyle;
+        }
+    }
+
+    @Data
+    @Excel(value = "日志", stringMode = ExcelField.StringMode.INLINE)
+    public static class LogModel {
+
+        @ExcelField("编号")
+        private String id;
+
+        @ExcelField(value = "级别", stringMode = ExcelField.StringMode.SHARED)
+        private String level;
+
+        @ExcelField("内容")
+        private String message;
+    }
+
     public static class CustomFontStyle implements FontStyle {
 
         @Override
@@ -2,17 +2,54 @@ package io.github.xinshepherd.excel;
 
 import io.github.xinshepherd.excel.annotation.Excel;
 import io.github.xinshepherd.excel.annotation.ExcelField;
+import io.github.xinshepherd.excel.core.ExcelCancelledException;
+import io.github.xinshepherd.excel.core.ExcelException;
+import io.github.xinshepherd.excel.core.ExcelMetrics;
+import io.github.xinshepherd.excel.core.InMemoryMetrics;
+import io.github.xinshepherd.excel.core.RowMonitor;
+import io.github.xinshepherd.excel.core.base.DefaultExporter;
+import io.github.xinshepherd.excel.core.base.ExportSubscriber;
+import io.github.xinshepherd.excel.core.base.ExporterBase;
+import io.github.xinshepherd.excel.core.base.ImportError;
+import io.github.xinshepherd.excel.core.base.ImportErrors;
+import io.github.xinshepherd.excel.core.base.ImportPublisher;
 import io.github.xinshepherd.excel.core.base.ImporterBase;
+import io.github.xinshepherd.excel.core.base.SheetResults;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Assert;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author donglin
@@ -125,6 +162,472 @@ public class ImporterBaseTest {
         Assert.assertEquals(85.5, student.getScore(), 0.00001);
     }
 
+    @Test
+    public void testImportStreaming() throws Exception {
+        String filepath = getClass().getResource("/").getPath() + "/excel.xlsx";
+        InputStream is = new FileInputStream(filepath);
+        List<Student> students = ImporterBase.newInstance(is).streaming(true).resolve(Student.class);
+
+        Assert.assertNotNull(students);
+        Assert.assertEquals(3, students.size());
+
+        SimpleDateFormat sdf = new SimpleDateFormat("yyy-MM-dd");
+
+        Student student = students.get(0);
+        Assert.assertEquals("张三", student.getName());
+        Assert.assertEquals("男", student.getSex());
+        Assert.assertEquals("1990-10-10", sdf.format(student.getDate()));
+        Assert.assertEquals(29, student.getAge());
+        Assert.assertEquals(90.5, student.getScore(), 0.00001);
+
+        student = students.get(2);
+        Assert.assertEquals("小红", student.getName());
+        Assert.assertEquals("女", student.getSex());
+        Assert.assertEquals("2000-02-02", sdf.format(student.getDate()));
+        Assert.assertEquals(0, student.getAge());
+        Assert.assertEquals(85.5, student.getScore(), 0.00001);
+    }
+
+    @Test
+    public void testImportXlsStreaming() throws Exception {
+        String filepath = getClass().getResource("/").getPath() + "/excel.xls";
+        List<Student> expected = ImporterBase.newInstance(new FileInputStream(filepath)).filename("excel.xls")
+                .titleRowIndex(2).ignoreLastIndexes(1).resolve(Student.class);
+        List<Student> students = ImporterBase.newInstance(new FileInputStream(filepath)).filename("excel.xls")
+                .titleRowIndex(2).ignoreLastIndexes(1).streaming(true).resolve(Student.class);
+        Assert.assertEquals(3, students.size());
+        for (int i = 0; i < students.size(); i++) {
+            Assert.assertEquals(expected.get(i).getName(), students.get(i).getName());
+            Assert.assertEquals(expected.get(i).getSex(), students.get(i).getSex());
+            Assert.assertEquals(expected.get(i).getDate(), students.get(i).getDate());
+            Assert.assertEquals(expected.get(i).getAge(), students.get(i).getAge());
+            Assert.assertEquals(expected.get(i).getScore(), students.get(i).getScore(), 0.0);
+        }
+
+        // 公式使用缓存的计算结果，字符串结果在单独的记录中
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Workbook workbook = new HSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("成绩");
+            Row title = sheet.createRow(0);
+            title.createCell(0).setCellValue("姓名");
+            title.createCell(1).setCellValue("成绩");
+            for (int i = 1; i <= 200; i++) {
+                Row row = sheet.createRow(i);
+                if (i % 2 == 0) {
+                    row.createCell(0).setCellFormula("CONCATENATE(\"学生\",\"" + i + "\")");
+                    row.createCell(1).setCellFormula(i + "+0.5");
+                } else {
+                    row.createCell(0).setCellValue("学生" + i);
+                    row.createCell(1).setCellValue(i + 0.5);
+                }
+            }
+            workbook.createSheet("其他").createRow(0).createCell(0).setCellValue("不需要读取");
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            workbook.write(out);
+        }
+        List<Score> scores = ImporterBase.newInstance(new ByteArrayInputStream(out.toByteArray()))
+                .contextType(ImporterBase.CONTEXT_TYPE_XLS)
+                .streaming(true)
+                .resolve(Score.class);
+        Assert.assertEquals(200, scores.size());
+        for (int i = 0; i < scores.size(); i++) {
+            Assert.assertEquals("学生" + (i + 1), scores.get(i).getName());
+            Assert.assertEquals(i + 1.5, scores.get(i).getScore(), 0.0);
+        }
+    }
+
+    @Test
+    public void testImportLenient() throws Exception {
+        StringBuilder csv = new StringBuilder("姓名,性别,出生日期,年龄,成绩\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("学生").append(i).append(",男,2020-02-29,").append(i % 100 == 0 ? "abc" : "20").append(",90.5\n");
+        }
+        csv.append("合计,,,x,\n");
+        ImportErrors errors = new ImportErrors(5);
+        List<Student> students = ImporterBase.newInstance(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)))
+                .filename("students.csv")
+                .ignoreLastIndexes(1)
+                .errors(errors)
+                .resolve(Student.class);
+        Assert.assertEquals(1000, students.size());
+        Assert.assertEquals(0, students.get(0).getAge());
+        Assert.assertEquals("学生0", students.get(0).getName());
+        Assert.assertEquals(90.5, students.get(0).getScore(), 0.0);
+        Assert.assertEquals(20, students.get(1).getAge());
+        // 被忽略的最后一行不记录错误
+        Assert.assertEquals(10, errors.getCount());
+        Assert.assertEquals(5, errors.getErrors().size());
+        Assert.assertTrue(errors.isTruncated());
+        ImportError error = errors.getErrors().get(1);
+        Assert.assertEquals(0, error.getSheetIndex());
+        Assert.assertEquals(101, error.getRowIndex());
+        Assert.assertEquals(3, error.getColumnIndex());
+        Assert.assertEquals("abc", error.getValue());
+        Assert.assertEquals("age", error.getField());
+        Assert.assertNotNull(error.getCause());
+
+        // 不忽略最后的合计行
+        String filepath = getClass().getResource("/").getPath() + "/excel.xls";
+        try {
+            ImporterBase.newInstance(new FileInputStream(filepath)).filename("excel.xls").titleRowIndex(2)
+                    .resolve(Student.class);
+            Assert.fail("strict mode");
+        } catch (ExcelException e) {
+            Assert.assertTrue(e.getMessage().contains("age"));
+        }
+        for (boolean streaming : new boolean[]{false, true}) {
+            errors = new ImportErrors(100);
+            students = ImporterBase.newInstance(new FileInputStream(filepath)).filename("excel.xls").titleRowIndex(2)
+                    .streaming(streaming).errors(errors).resolve(Student.class);
+            Assert.assertEquals(4, students.size());
+            Assert.assertEquals(85.5, students.get(3).getScore(), 0.0);
+            Assert.assertEquals(1, errors.getCount());
+            Assert.assertEquals(6, errors.getErrors().get(0).getRowIndex());
+            Assert.assertEquals(3, errors.getErrors().get(0).getColumnIndex());
+        }
+    }
+
+    @Test
+    public void testImportBatch() throws Exception {
+        String filepath = getClass().getResource("/").getPath() + "/excel.xlsx";
+        List<Integer> sizes = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        Set<List<Student>> batches = Collections.newSetFromMap(new IdentityHashMap<>());
+        ImporterBase.newInstance(new FileInputStream(filepath)).streaming(true)
+                .resolve(Student.class, 2, batch -> {
+                    sizes.add(batch.size());
+                    batches.add(batch);
+                    batch.forEach(student -> names.add(student.getName()));
+                });
+        Assert.assertEquals(Arrays.asList(2, 1), sizes);
+        Assert.assertEquals(Arrays.asList("张三", "李四", "小红"), names);
+        Assert.assertEquals(1, batches.size());
+
+        filepath = getClass().getResource("/").getPath() + "/excel.xls";
+        sizes.clear();
+        ImporterBase.newInstance(new FileInputStream(filepath)).filename("excel.xls").titleRowIndex(2)
+                .ignoreLastIndexes(1).resolve(Student.class, 3, batch -> sizes.add(batch.size()));
+        Assert.assertEquals(Collections.singletonList(3), sizes);
+    }
+
+    @Test
+    public void testImportPublisher() throws Exception {
+        String filepath = getClass().getResource("/").getPath() + "/excel.xlsx";
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 每次只请求一行
+            ImportPublisher<Student> publisher = new ImportPublisher<>(
+                    ImporterBase.newInstance(new FileInputStream(filepath)).streaming(true), Student.class, executor);
+            List<String> names = new ArrayList<>();
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            publisher.subscribe(new Subscriber<Student>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(Student student) {
+                    names.add(student.getName());
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    done.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    done.complete(null);
+                }
+            });
+            done.get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(Arrays.asList("张三", "李四", "小红"), names);
+
+            // 导入的数据直接导出
+            Workbook workbook = new XSSFWorkbook();
+            ExportSubscriber<Student> subscriber = new ExportSubscriber<>(new DefaultExporter(workbook), Student.class, "学生", 2);
+            new ImportPublisher<>(ImporterBase.newInstance(new FileInputStream(filepath)), Student.class, executor)
+                    .subscribe(subscriber);
+            subscriber.completion().get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(3, workbook.getSheet("学生").getLastRowNum());
+            Assert.assertEquals("小红", workbook.getSheet("学生").getRow(3).getCell(0).getStringCellValue());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testImportSheets() throws Exception {
+        Workbook[] workbooks = {new XSSFWorkbook(), new HSSFWorkbook()};
+        String[] filenames = {"sheets.xlsx", "sheets.xls"};
+        for (int i = 0; i < workbooks.length; i++) {
+            List<Score> scores = new ArrayList<>();
+            for (int j = 0; j < 100; j++) {
+                Score score = new Score();
+                score.setName("学生" + j);
+                score.setScore(j + 0.5);
+                scores.add(score);
+            }
+            Course course = new Course();
+            course.setName("数学");
+            course.setCredit(4);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            InMemoryMetrics exportMetrics = new InMemoryMetrics();
+            try (Workbook workbook = workbooks[i]) {
+                ExporterBase exporter = new DefaultExporter(workbook)
+                        .metrics(exportMetrics)
+                        .appendSheet(Score.class, scores, "成绩")
+                        .appendSheet(Course.class, Collections.singletonList(course), "课程")
+                        .appendSheet(Score.class, scores.subList(0, 10), "补考");
+                exporter.writeTo(out);
+                Assert.assertEquals(exporter.getStylePool().getCreatedCount(), exportMetrics.getCount(ExcelMetrics.Counter.STYLES));
+            }
+            Assert.assertEquals(3, exportMetrics.getTimes(ExcelMetrics.Phase.HEADER_MATCH));
+            Assert.assertEquals(111, exportMetrics.getCount(ExcelMetrics.Counter.ROWS));
+            Assert.assertEquals(222, exportMetrics.getCount(ExcelMetrics.Counter.CELLS));
+            Assert.assertEquals(1, exportMetrics.getTimes(ExcelMetrics.Phase.WRITE));
+            Assert.assertEquals(out.size(), exportMetrics.getCount(ExcelMetrics.Counter.BYTES));
+
+            InMemoryMetrics importMetrics = new InMemoryMetrics();
+            SheetResults results = ImporterBase.newInstance(new ByteArrayInputStream(out.toByteArray()))
+                    .filename(filenames[i])
+                    .metrics(importMetrics)
+                    .sheet("课程", Course.class)
+                    .sheet(0, Score.class)
+                    .sheet(2, Score.class)
+                    .resolveSheets();
+
+            Assert.assertEquals(Arrays.asList("课程", "成绩", "补考"), results.getSheetNames());
+            List<Score> resolved = results.get("成绩", Score.class);
+            Assert.assertEquals(100, resolved.size());
+            Assert.assertEquals("学生99", resolved.get(99).getName());
+            Assert.assertEquals(99.5, resolved.get(99).getScore(), 0.00001);
+            Assert.assertEquals(10, results.get(2, Score.class).size());
+            Assert.assertEquals(110, results.get(Score.class).size());
+            Assert.assertEquals("数学", results.get(1, Course.class).get(0).getName());
+            Assert.assertEquals(4, results.get("课程", Course.class).get(0).getCredit());
+            Assert.assertEquals(1, importMetrics.getTimes(ExcelMetrics.Phase.WORKBOOK_OPEN));
+            Assert.assertEquals(3, importMetrics.getTimes(ExcelMetrics.Phase.HEADER_MATCH));
+            Assert.assertEquals(3, importMetrics.getTimes(ExcelMetrics.Phase.ROW_CONVERSION));
+            Assert.assertEquals(111, importMetrics.getCount(ExcelMetrics.Counter.ROWS));
+            Assert.assertEquals(222, importMetrics.getCount(ExcelMetrics.Counter.CELLS));
+            Assert.assertTrue(importMetrics.getRowsPerSecond() > 0);
+
+            // 按名称和序号登记了同一个sheet
+            try {
+                ImporterBase.newInstance(new ByteArrayInputStream(out.toByteArray()))
+                        .filename(filenames[i])
+                        .sheet("成绩", Score.class)
+                        .sheet(0, Score.class)
+                        .resolveSheets();
+                Assert.fail("same sheet");
+            } catch (ExcelException e) {
+                Assert.assertTrue(e.getMessage().contains("same sheet"));
+            }
+        }
+        try {
+            ImporterBase.newInstance(new ByteArrayInputStream(new byte[0])).sheet(0, Score.class).sheet(0, Course.class);
+            Assert.fail("registered twice");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("already registered"));
+        }
+        try {
+            ImporterBase.newInstance(new ByteArrayInputStream("姓名,成绩\n".getBytes(StandardCharsets.UTF_8)))
+                    .filename("scores.csv")
+                    .sheet(0, Score.class)
+                    .resolveSheets();
+            Assert.fail("csv");
+        } catch (ExcelException e) {
+            Assert.assertTrue(e.getMessage().contains("resolve"));
+        }
+    }
+
+    @Test
+    public void testImportConverters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Object[][] rows = {
+                    {"日期", "时间", "金额", "启用", "级别", "编号"},
+                    {DateUtil.getExcelDate(LocalDate.of(2020, 2, 29)), "2020-03-01 08:30:00", "1234.50", true, "HIGH",
+                            "123e4567-e89b-12d3-a456-426614174000"},
+                    {"2020-03-01", DateUtil.getExcelDate(LocalDateTime.of(1900, 3, 1, 12, 0)), 0.1, "0", 0.0, null},
+            };
+            for (int i = 0; i < rows.length; i++) {
+                Row row = sheet.createRow(i);
+                for (int j = 0; j < rows[i].length; j++) {
+                    Object value = rows[i][j];
+                    if (value instanceof Double) {
+                        row.createCell(j).setCellValue((Double) value);
+                    } else if (value instanceof Boolean) {
+                        row.createCell(j).setCellValue((Boolean) value);
+                    } else if (value != null) {
+                        row.createCell(j).setCellValue((String) value);
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+        for (boolean streaming : new boolean[]{false, true}) {
+            List<Order> orders = ImporterBase.newInstance(new ByteArrayInputStream(out.toByteArray()))
+                    .streaming(streaming)
+                    .converter(UUID.class, cell -> UUID.fromString(cell.getStringCellValue()))
+                    .resolve(Order.class);
+            Assert.assertEquals(2, orders.size());
+            Order first = orders.get(0);
+            Assert.assertEquals(LocalDate.of(2020, 2, 29), first.getDate());
+            Assert.assertEquals(LocalDateTime.of(2020, 3, 1, 8, 30), first.getTime());
+            Assert.assertEquals(new BigDecimal("1234.50"), first.getAmount());
+            Assert.assertTrue(first.isEnabled());
+            Assert.assertEquals(Level.HIGH, first.getLevel());
+            Assert.assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), first.getId());
+            Order second = orders.get(1);
+            Assert.assertEquals(LocalDate.of(2020, 3, 1), second.getDate());
+            Assert.assertEquals(LocalDateTime.of(1900, 3, 1, 12, 0), second.getTime());
+            Assert.assertEquals(new BigDecimal("0.1"), second.getAmount());
+            Assert.assertFalse(second.isEnabled());
+            Assert.assertEquals(Level.LOW, second.getLevel());
+            Assert.assertNull(second.getId());
+
+            // 宽松导入只记录转换异常，Error 直接抛出
+            ImportErrors errors = new ImportErrors(10);
+            try {
+                ImporterBase.newInstance(new ByteArrayInputStream(out.toByteArray()))
+                        .streaming(streaming)
+                        .errors(errors)
+                        .converter(UUID.class, cell -> {
+                            throw new StackOverflowError();
+                        })
+                        .resolve(Order.class);
+                Assert.fail("error should propagate");
+            } catch (StackOverflowError e) {
+                Assert.assertTrue(errors.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testImportCsv() throws Exception {
+        StringBuilder csv = new StringBuilder("\uFEFF学生名单\r\n");
+        csv.append("备注,成绩,姓名,出生日期,年龄,性别\r\n");
+        int rows = 3000;
+        for (int i = 0; i < rows; i++) {
+            // 引号内的分隔符、转义引号和换行，数据行跨越多次读取
+            csv.append("\"第").append(i).append("行,\"\"备注\"\"\r\n第二行\",")
+                    .append(i % 100).append(".5,\"张, ").append(i).append("\",2020-02-29,").append(i % 60)
+                    .append(",").append(i % 2 == 0 ? "男" : "女").append("\n");
+        }
+        csv.append("合计,,,,,\r\n");
+        List<Student> students = ImporterBase.newInstance(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)))
+                .filename("students.csv")
+                .titleRowIndex(1)
+                .ignoreLastIndexes(1)
+                .resolve(Student.class);
+        Assert.assertEquals(rows, students.size());
+        Student last = students.get(rows - 1);
+        Assert.assertEquals("张, 2999", last.getName());
+        Assert.assertEquals("女", last.getSex());
+        Assert.assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2020-02-29"), last.getDate());
+        Assert.assertEquals(59, last.getAge());
+        Assert.assertEquals(99.5, last.getScore(), 0.0);
+
+        String positions = "name;sex;date;age;score\nfoo;\"a;\"\"b\"\"\";2020-01-01;10;\n\nbar;;;;1.5";
+        List<PositionStudent> positionStudents = ImporterBase.newInstance(new ByteArrayInputStream(positions.getBytes(StandardCharsets.UTF_8)))
+                .contextType(ImporterBase.CONTEXT_TYPE_CSV)
+                .matchType(ImporterBase.MATCH_TYPE_POSITION)
+                .delimiter(';')
+                .resolve(PositionStudent.class);
+        Assert.assertEquals(2, positionStudents.size());
+        Assert.assertEquals("a;\"b\"", positionStudents.get(0).getSex());
+        Assert.assertEquals("10", positionStudents.get(0).getAge());
+        Assert.assertEquals(0.0, positionStudents.get(0).getScore(), 0.0);
+        Assert.assertNull(positionStudents.get(1).getSex());
+        Assert.assertEquals(1.5, positionStudents.get(1).getScore(), 0.0);
+
+        try {
+            ImporterBase.newInstance(new ByteArrayInputStream("name\n\"foo".getBytes(StandardCharsets.UTF_8)))
+                    .contextType(ImporterBase.CONTEXT_TYPE_CSV)
+                    .matchType(ImporterBase.MATCH_TYPE_POSITION)
+                    .resolve(PositionStudent.class);
+            Assert.fail("unclosed quote");
+        } catch (ExcelException e) {
+            Assert.assertTrue(e.getMessage().contains("row 1"));
+        }
+    }
+
+    @Test
+    public void testCancelImport() throws Exception {
+        StringBuilder csv = new StringBuilder("姓名,成绩\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("学生").append(i).append(',').append(i).append('\n');
+        }
+        List<Score> resolved = new ArrayList<>();
+        RowMonitor monitor = new RowMonitor();
+        monitor.progress(100, rows -> {
+            if (rows == 500) {
+                monitor.cancel();
+            }
+        });
+        try {
+            ImporterBase.newInstance(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)))
+                    .contextType(ImporterBase.CONTEXT_TYPE_CSV)
+                    .monitor(monitor)
+                    .resolve(Score.class, 100, resolved::addAll);
+            Assert.fail("cancelled");
+        } catch (ExcelCancelledException e) {
+            Assert.assertFalse(e.isTimeout());
+            Assert.assertEquals(500, e.getRows());
+            Assert.assertEquals(500, resolved.size());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Workbook workbook = new XSSFWorkbook()) {
+            new DefaultExporter(workbook).appendSheet(Score.class, Collections.singletonList(new Score()));
+            workbook.write(out);
+        }
+        try {
+            ImporterBase.newInstance(new ByteArrayInputStream(out.toByteArray()))
+                    .streaming(true)
+                    .monitor(new RowMonitor().deadline(Duration.ZERO))
+                    .resolve(Score.class);
+            Assert.fail("deadline exceeded");
+        } catch (ExcelCancelledException e) {
+            Assert.assertTrue(e.isTimeout());
+        }
+    }
+
+    public enum Level {
+        LOW, HIGH
+    }
+
+    @Getter
+    @Setter
+    @Excel
+    public static class Order {
+        @ExcelField("日期")
+        private LocalDate date;
+
+        @ExcelField("时间")
+        private LocalDateTime time;
+
+        @ExcelField("金额")
+        private BigDecimal amount;
+
+        @ExcelField("启用")
+        private boolean enabled;
+
+        @ExcelField("级别")
+        private Level level;
+
+        @ExcelField("编号")
+        private UUID id;
+    }
+
     @Getter
     @Setter
     @Excel
@@ -164,4 +667,26 @@ public class ImporterBaseTest {
         @ExcelField(position = 4)
         private double score;
     }
+
+    @Getter
+    @Setter
+    @Excel("成绩")
+    public static class Score {
+        @ExcelField("姓名")
+        private String name;
+
+        @ExcelField(value = "成绩", type = ExcelField.CellType.NUMERIC)
+        private double score;
+    }
+
+    @Getter
+    @Setter
+    @Excel("课程")
+    public static class Course {
+        @ExcelField("课程")
+        private String name;
+
+        @ExcelField(value = "学分", type = ExcelField.CellType.NUMERIC)
+        private int credit;
+    }
 }